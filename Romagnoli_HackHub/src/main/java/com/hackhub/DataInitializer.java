@@ -1,13 +1,18 @@
 package com.hackhub;
 
 import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.model.HackathonStats;
 import com.hackhub.model.User;
 import com.hackhub.repository.HackathonRepository;
+import com.hackhub.repository.HackathonStatsRepository;
 import com.hackhub.repository.UserRepository;
+import com.hackhub.service.HackathonJournalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -18,8 +23,20 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private HackathonRepository hackathonRepository;
 
+    @Autowired
+    private HackathonStatsRepository hackathonStatsRepository;
+
+    @Autowired
+    private HackathonJournalService journal;
+
     @Override
     public void run(String... args) throws Exception {
+        // Con più nodi sullo stesso database i dati di test li crea solo il primo
+        if (userRepository.count() > 0) {
+            System.out.println("Dati di test già presenti");
+            return;
+        }
+
         System.out.println("Inizializzazione dati di test...");
 
         // Crea utenti di test
@@ -29,11 +46,7 @@ public class DataInitializer implements CommandLineRunner {
         User participant1 = new User("mario@example.com", "Mario Rossi", "password", "USER");
         User participant2 = new User("luigi@example.com", "Luigi Verdi", "password", "USER");
 
-        userRepository.save(organizer);
-        userRepository.save(judge);
-        userRepository.save(mentor);
-        userRepository.save(participant1);
-        userRepository.save(participant2);
+        userRepository.saveAll(List.of(organizer, judge, mentor, participant1, participant2));
 
         // Crea hackathon di test
         Hackathon hackathon1 = new Hackathon(
@@ -64,6 +77,18 @@ public class DataInitializer implements CommandLineRunner {
 
         hackathonRepository.save(hackathon2);
 
+        // Contatori a zero per i nuovi hackathon
+        hackathonStatsRepository.saveAll(List.of(
+                new HackathonStats(hackathon1.getId()), new HackathonStats(hackathon2.getId())));
+
+        // Eventi iniziali nel journal
+        journal.open(hackathon1.getId());
+        journal.open(hackathon2.getId());
+        journal.appendAll(List.of(
+                HackathonEvent.hackathonCreated(hackathon1),
+                HackathonEvent.judgeAssigned(hackathon1.getId(), judge.getId()),
+                HackathonEvent.hackathonCreated(hackathon2)));
+
         System.out.println("Dati di test creati con successo!");
         System.out.println("Utenti creati: " + userRepository.count());
         System.out.println("Hackathon creati: " + hackathonRepository.count());
@@ -0,0 +1,65 @@
+package com.hackhub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource primario (spring.datasource.*) e replica di sola lettura (app.datasource.replica.*).
+ * Con la replica disabilitata anche le letture vanno sul primario.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public DataSource replicaDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                        @Value("${app.datasource.replica.enabled:false}") boolean enabled,
+                                        @Value("${app.datasource.replica.url:}") String url,
+                                        @Value("${app.datasource.replica.username:}") String username,
+                                        @Value("${app.datasource.replica.password:}") String password,
+                                        @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        if (!enabled) {
+            return primary;
+        }
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        System.out.println("Letture readOnly instradate sulla replica: " + url);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
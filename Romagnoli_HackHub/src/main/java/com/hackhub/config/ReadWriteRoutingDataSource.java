@@ -0,0 +1,20 @@
+package com.hackhub.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Instrada le transazioni @Transactional(readOnly = true) verso la replica
+ * e tutto il resto (scritture e codice fuori transazione) verso il primario.
+ * Va avvolto in un LazyConnectionDataSourceProxy: la connessione deve essere
+ * presa quando il flag readOnly della transazione è già impostato.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,144 @@
+package com.hackhub.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Solo per sviluppo locale con due database H2: copia periodicamente il primario
+ * sulla replica, così le letture readOnly vedono i dati con un ritardo pari
+ * all'intervallo di sincronizzazione (app.datasource.replica.sync-interval-ms).
+ * Lo schema si ricrea solo quando cambia la versione Flyway del primario; altrimenti le righe si
+ * svuotano e ricaricano in un'unica transazione, e chi legge dalla replica vede la copia precedente
+ * fino al commit invece di tabelle mancanti o vuote.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.simulate-lag", havingValue = "true")
+@DependsOn("flywayInitializer")
+public class ReplicaLagSimulator {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:}")
+    private String replicaPassword;
+
+    // Versione Flyway dello schema copiato sulla replica, -1 finché non è stato creato
+    private int replicaSchemaVersion = -1;
+
+    //Prima copia subito dopo le migrazioni: le letture readOnly all'avvio trovano già le tabelle
+    @PostConstruct
+    void initialSync() {
+        syncReplica();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.sync-interval-ms:5000}")
+    public synchronized void syncReplica() {
+        try {
+            int schemaVersion = primarySchemaVersion();
+            List<String> statements = dumpPrimary();
+
+            // La replica è di sola lettura per l'applicazione: qui si scrive con una connessione dedicata
+            try (Connection replica = DriverManager.getConnection(replicaUrl, replicaUsername, replicaPassword)) {
+                if (schemaVersion != replicaSchemaVersion) {
+                    rebuild(replica, statements);
+                    replicaSchemaVersion = schemaVersion;
+                } else {
+                    reload(replica, statements.stream().filter(sql -> sql.startsWith("INSERT INTO")).toList());
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Sincronizzazione replica fallita: " + e.getMessage());
+        }
+    }
+
+    //Schema e dati da zero: al primo giro e dopo una migrazione del primario
+    private void rebuild(Connection replica, List<String> statements) throws SQLException {
+        try (Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Stesso schema: svuota e ricarica le tabelle in una transazione. I vincoli si sospendono
+     * perché l'ordine di cancellazione e inserimento non segue le chiavi esterne.
+     */
+    private void reload(Connection replica, List<String> inserts) throws SQLException {
+        try (Statement statement = replica.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            replica.setAutoCommit(false);
+            try {
+                for (String table : tables(replica)) {
+                    statement.execute("DELETE FROM \"PUBLIC\".\"" + table + "\"");
+                }
+                for (String sql : inserts) {
+                    statement.execute(sql);
+                }
+                replica.commit();
+            } catch (SQLException e) {
+                replica.rollback();
+                throw e;
+            } finally {
+                replica.setAutoCommit(true);
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+    }
+
+    private List<String> tables(Connection replica) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = replica.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+                     "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'")) {
+            while (rs.next()) {
+                tables.add(rs.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private int primarySchemaVersion() throws SQLException {
+        try (Connection primary = primaryDataSource.getConnection();
+             Statement statement = primary.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MAX(\"installed_rank\") FROM \"flyway_schema_history\"")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // SCRIPT restituisce lo schema e i dati del primario come istruzioni SQL
+    private List<String> dumpPrimary() throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Connection primary = primaryDataSource.getConnection();
+             Statement statement = primary.createStatement();
+             ResultSet rs = statement.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+            while (rs.next()) {
+                statements.add(rs.getString(1));
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,21 @@
+package com.hackhub.controller;
+
+import com.hackhub.service.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(cacheStatsService.getCacheStatistics());
+    }
+}
@@ -1,8 +1,14 @@
 package com.hackhub.controller;
 
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.HackathonResponse;
+import com.hackhub.dto.LeaderboardEntry;
+import com.hackhub.dto.UserResponse;
 import com.hackhub.model.Hackathon;
-import com.hackhub.model.User;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.service.HackathonJournalService;
 import com.hackhub.service.HackathonService;
+import com.hackhub.service.LeaderboardService;
 import com.hackhub.repository.HackathonRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -23,8 +29,14 @@ public class HackathonController {
     @Autowired
     private HackathonRepository hackathonRepository;
 
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private HackathonJournalService journalService;
+
     @PostMapping
-    public ResponseEntity<Hackathon> createHackathon(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<HackathonResponse> createHackathon(@RequestBody Map<String, Object> request) {
         String name = (String) request.get("name");
         String description = (String) request.get("description");
         String rules = (String) request.get("rules");
@@ -39,56 +51,58 @@ public class HackathonController {
         Hackathon hackathon = hackathonService.createHackathon(
                 name, description, rules, regDeadline, startDate, endDate, maxTeamSize, organizerId);
 
-        return ResponseEntity.ok(hackathon);
+        return ResponseEntity.ok(HackathonResponse.from(hackathon));
     }
 
     @PutMapping("/{id}/assign-judge")
-    public ResponseEntity<Hackathon> assignJudge(@PathVariable Long id, @RequestBody Map<String, Long> request) {
+    public ResponseEntity<HackathonResponse> assignJudge(@PathVariable Long id, @RequestBody Map<String, Long> request) {
         Long judgeId = request.get("judgeId");
-        return ResponseEntity.ok(hackathonService.assignJudge(id, judgeId));
+        return ResponseEntity.ok(HackathonResponse.from(hackathonService.assignJudge(id, judgeId)));
     }
 
     @PutMapping("/{id}/status")
-    public ResponseEntity<Hackathon> updateStatus(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<HackathonResponse> updateStatus(@PathVariable Long id, @RequestBody Map<String, String> request) {
         String newStatus = request.get("status");
-        return ResponseEntity.ok(hackathonService.updateStatus(id, newStatus));
+        return ResponseEntity.ok(HackathonResponse.from(hackathonService.updateStatus(id, newStatus)));
     }
 
     @PutMapping("/{id}/declare-winner")
-    public ResponseEntity<Hackathon> declareWinner(@PathVariable Long id, @RequestBody Map<String, Long> request) {
+    public ResponseEntity<HackathonResponse> declareWinner(@PathVariable Long id, @RequestBody Map<String, Long> request) {
         Long teamId = request.get("teamId");
-        return ResponseEntity.ok(hackathonService.declareWinner(id, teamId));
+        return ResponseEntity.ok(HackathonResponse.from(hackathonService.declareWinner(id, teamId)));
     }
 
     @GetMapping
-    public ResponseEntity<List<Hackathon>> getAllHackathons() {
-        return ResponseEntity.ok(hackathonService.getAllHackathons());
+    public ResponseEntity<CursorPage<HackathonResponse>> getAllHackathons(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(hackathonService.getHackathonsPage(cursor, size));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Hackathon>> getHackathonsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(hackathonService.getHackathonsByStatus(status));
+    public ResponseEntity<List<HackathonResponse>> getHackathonsByStatus(@PathVariable String status) {
+        return ResponseEntity.ok(hackathonService.getHackathonResponsesByStatus(status));
     }
 
     @GetMapping("/organizer/{organizerId}")
-    public ResponseEntity<List<Hackathon>> getHackathonsByOrganizer(@PathVariable Long organizerId) {
-        return ResponseEntity.ok(hackathonService.getHackathonsByOrganizer(organizerId));
+    public ResponseEntity<List<HackathonResponse>> getHackathonsByOrganizer(@PathVariable Long organizerId) {
+        return ResponseEntity.ok(hackathonService.getHackathonResponsesByOrganizer(organizerId));
     }
 
     @PostMapping("/{id}/add-mentor")
-    public ResponseEntity<Hackathon> addMentor(@PathVariable Long id, @RequestBody Map<String, Long> request) {
+    public ResponseEntity<HackathonResponse> addMentor(@PathVariable Long id, @RequestBody Map<String, Long> request) {
         Long mentorId = request.get("mentorId");
-        return ResponseEntity.ok(hackathonService.addMentor(id, mentorId));
+        return ResponseEntity.ok(HackathonResponse.from(hackathonService.addMentor(id, mentorId)));
     }
 
     @DeleteMapping("/{id}/remove-mentor/{mentorId}")
-    public ResponseEntity<Hackathon> removeMentor(@PathVariable Long id, @PathVariable Long mentorId) {
-        return ResponseEntity.ok(hackathonService.removeMentor(id, mentorId));
+    public ResponseEntity<HackathonResponse> removeMentor(@PathVariable Long id, @PathVariable Long mentorId) {
+        return ResponseEntity.ok(HackathonResponse.from(hackathonService.removeMentor(id, mentorId)));
     }
 
     @GetMapping("/{id}/mentors")
-    public ResponseEntity<List<User>> getMentors(@PathVariable Long id) {
-        return ResponseEntity.ok(hackathonService.getMentors(id));
+    public ResponseEntity<List<UserResponse>> getMentors(@PathVariable Long id) {
+        return ResponseEntity.ok(hackathonService.getMentorResponses(id));
     }
 
     @GetMapping("/{id}/statistics")
@@ -96,6 +110,37 @@ public class HackathonController {
         return ResponseEntity.ok(hackathonService.getHackathonStatistics(id));
     }
 
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer top) {
+        return ResponseEntity.ok(leaderboardService.getTop(id, top));
+    }
+
+    @GetMapping("/{id}/leaderboard/teams/{teamId}")
+    public ResponseEntity<LeaderboardEntry> getLeaderboardRank(@PathVariable Long id, @PathVariable Long teamId) {
+        return ResponseEntity.ok(leaderboardService.getRank(id, teamId));
+    }
+
+    @GetMapping("/{id}/events")
+    public ResponseEntity<CursorPage<HackathonEvent>> getEvents(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(journalService.getEvents(id, cursor, size));
+    }
+
+    @GetMapping("/{id}/replay")
+    public ResponseEntity<Map<String, Object>> replay(@PathVariable Long id) {
+        return ResponseEntity.ok(journalService.describeReplay(id));
+    }
+
+    @PostMapping("/{id}/projections/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildProjections(@PathVariable Long id) {
+        journalService.rebuildProjections(id);
+        return ResponseEntity.ok(hackathonService.getHackathonStatistics(id));
+    }
+
     @GetMapping("/{id}/can-access/{userId}")
     public ResponseEntity<Map<String, Boolean>> checkAccess(
             @PathVariable Long id,
@@ -112,13 +157,7 @@ public class HackathonController {
 
     @GetMapping("/status-summary")
     public ResponseEntity<Map<String, Long>> getStatusSummary() {
-        Map<String, Long> summary = new HashMap<>();
-
-        for (String status : List.of("INSCRIZIONE", "IN_CORSO", "IN_VALUTAZIONE", "CONCLUSO")) {
-            summary.put(status, (long) hackathonService.getHackathonsByStatus(status).size());
-        }
-
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok(hackathonService.getStatusSummary());
     }
 
 }
@@ -1,7 +1,7 @@
 package com.hackhub.controller;
 
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.stereotype.Controller;
+import org.springframework.stereotype.Controller;
 
 @Controller
 public class HomeController {
@@ -0,0 +1,49 @@
+package com.hackhub.controller;
+
+import com.hackhub.service.LiveUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/live")
+@CrossOrigin(origins = "*")
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    /**
+     * Stream SSE per gli hackathon e/o l'utente indicati, es. /api/live?hackathonId=1&hackathonId=2&userId=5.
+     * Alla riconnessione, anche su un altro nodo, EventSource manda da solo l'header Last-Event-ID;
+     * in alternativa il parametro lastEventId.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) List<Long> hackathonId,
+                             @RequestParam(required = false) Long userId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(required = false) String lastEventId) {
+        List<String> topics = new ArrayList<>();
+        if (hackathonId != null) {
+            hackathonId.forEach(id -> topics.add(LiveUpdateService.hackathonTopic(id)));
+        }
+        if (userId != null) {
+            topics.add(LiveUpdateService.userTopic(userId));
+        }
+        if (topics.isEmpty()) {
+            throw new RuntimeException("Indicare almeno un hackathonId o uno userId");
+        }
+        return liveUpdateService.subscribe(topics, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(liveUpdateService.getStatistics());
+    }
+}
@@ -1,11 +1,18 @@
 package com.hackhub.controller;
 
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.InboxItem;
+import com.hackhub.model.NotificationOutbox;
 import com.hackhub.model.User;
-import com.hackhub.pattern.strategy.NotificationContext;
+import com.hackhub.pattern.observer.ObserverDispatcher;
 import com.hackhub.repository.UserRepository;
+import com.hackhub.service.InboxService;
+import com.hackhub.service.NotificationOutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -14,11 +21,17 @@ import java.util.Map;
 public class NotificationController {
 
     @Autowired
-    private NotificationContext notificationContext;
+    private NotificationOutboxService notificationOutbox;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ObserverDispatcher observerDispatcher;
+
+    @Autowired
+    private InboxService inboxService;
+
     @PostMapping("/send")
     public ResponseEntity<String> sendNotification(@RequestBody Map<String, Object> request) {
         String type = (String) request.get("type"); // "EMAIL" o "IN_APP"
@@ -29,8 +42,63 @@ public class NotificationController {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Utente non trovato"));
 
-        notificationContext.sendNotification(type, message, user);
+        // Consegnata dal dispatcher dell'outbox, con i tentativi in caso di errore
+        notificationOutbox.enqueue(type, message, user);
+
+        return ResponseEntity.ok("Notifica accodata per l'invio");
+    }
+
+    // ========== INBOX IN-APP ==========
+
+    @GetMapping("/inbox/{userId}")
+    public ResponseEntity<Map<String, Object>> getUnread(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Integer limit) {
+        List<InboxItem> items = inboxService.getUnread(userId, limit);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("unreadCount", inboxService.getUnreadCount(userId));
+        response.put("items", items);
+        return ResponseEntity.ok(response);
+    }
+
+    //Contatore per il badge: servito dalla memoria
+    @GetMapping("/inbox/{userId}/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@PathVariable Long userId) {
+        return ResponseEntity.ok(Map.of("unreadCount", inboxService.getUnreadCount(userId)));
+    }
+
+    //Segna come lette le notifiche fino alla posizione upToSeq (tutte, se assente)
+    @PostMapping("/inbox/{userId}/ack")
+    public ResponseEntity<Map<String, Long>> acknowledge(
+            @PathVariable Long userId,
+            @RequestBody(required = false) Map<String, Long> request) {
+        Long upToSeq = request != null ? request.get("upToSeq") : null;
+        return ResponseEntity.ok(Map.of("unreadCount", inboxService.acknowledge(userId, upToSeq)));
+    }
+
+    // ========== OUTBOX ==========
+
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<Map<String, Object>> getOutboxStats() {
+        return ResponseEntity.ok(notificationOutbox.getStatistics());
+    }
+
+    //Notifiche che hanno esaurito i tentativi di consegna
+    @GetMapping("/outbox/dead")
+    public ResponseEntity<CursorPage<NotificationOutbox>> getDeadLetters(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(notificationOutbox.getDeadLetters(cursor, size));
+    }
+
+    @PostMapping("/outbox/{id}/retry")
+    public ResponseEntity<NotificationOutbox> retry(@PathVariable Long id) {
+        return ResponseEntity.ok(notificationOutbox.retry(id));
+    }
 
-        return ResponseEntity.ok("Notifica inviata con successo");
+    //Profondità delle code e ritardo delle notifiche asincrone degli observer
+    @GetMapping("/dispatch/stats")
+    public ResponseEntity<Map<String, Object>> getDispatchStats() {
+        return ResponseEntity.ok(observerDispatcher.getStatistics());
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,11 @@
 package com.hackhub.controller;
 
+import com.hackhub.dto.CursorPage;
 import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonLifecycle;
+import com.hackhub.model.HackathonStatus;
 import com.hackhub.model.Team;
+import com.hackhub.model.User;
 import com.hackhub.service.HackathonService;
 import com.hackhub.service.TeamService;
 import com.hackhub.service.UserService;
@@ -10,6 +14,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -29,7 +34,7 @@ public class PageController {
 
     @GetMapping("/hackathons")
     public String hackathonsPage(Model model) {
-        List<Hackathon> hackathons = hackathonService.getAllHackathons();
+        List<Hackathon> hackathons = hackathonService.getAllHackathonsWithTeams();
         model.addAttribute("hackathons", hackathons);
         return "hackathons/list";
     }
@@ -45,7 +50,7 @@ public class PageController {
 
     @GetMapping("/hackathons/{id}")
     public String hackathonDetailPage(@PathVariable Long id, Model model) {
-        Hackathon hackathon = hackathonService.getHackathonById(id); // Dovrai aggiungere questo metodo nel service
+        Hackathon hackathon = hackathonService.getHackathonWithStaff(id);
         model.addAttribute("hackathon", hackathon);
         model.addAttribute("teams", teamService.getTeamsByHackathon(id));
         return "hackathons/detail";
@@ -53,8 +58,9 @@ public class PageController {
 
     @GetMapping("/hackathons/{id}/manage")
     public String manageHackathonPage(@PathVariable Long id, Model model) {
-        Hackathon hackathon = hackathonService.getHackathonById(id);
+        Hackathon hackathon = hackathonService.getHackathonForManagement(id);
         model.addAttribute("hackathon", hackathon);
+        model.addAttribute("nextStatuses", HackathonLifecycle.nextStates(hackathon.getStatus()));
         model.addAttribute("availableJudges", userService.getAvailableJudges());
         model.addAttribute("availableMentors", userService.getAvailableMentors());
         return "hackathons/manage";
@@ -63,8 +69,10 @@ public class PageController {
     // ========== TEAM PAGES ==========
 
     @GetMapping("/teams")
-    public String teamsPage(Model model) {
-        model.addAttribute("teams", teamService.getAllTeams());
+    public String teamsPage(@RequestParam(required = false) String cursor, Model model) {
+        CursorPage<Team> page = teamService.getAllTeamsPage(cursor, null);
+        model.addAttribute("teams", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
         return "teams/list";
     }
 
@@ -93,7 +101,7 @@ public class PageController {
     @GetMapping("/submissions/review")
     public String reviewSubmissionsPage(Model model) {
         // Filtra solo hackathon in valutazione
-        model.addAttribute("hackathons", hackathonService.getHackathonsByStatus("IN_VALUTAZIONE"));
+        model.addAttribute("hackathons", hackathonService.getHackathonsByStatus(HackathonStatus.IN_VALUTAZIONE));
         return "submissions/review";
     }
 
@@ -135,9 +143,17 @@ public class PageController {
     // ========== ADMIN PAGES ==========
 
     @GetMapping("/admin")
-    public String adminPage(Model model) {
-        model.addAttribute("users", userService.getAllUsers());
-        model.addAttribute("hackathons", hackathonService.getAllHackathons());
+    public String adminPage(@RequestParam(required = false) String usersCursor,
+                            @RequestParam(required = false) String hackathonsCursor,
+                            Model model) {
+        CursorPage<User> users = userService.getAllUsersPage(usersCursor, null);
+        CursorPage<Hackathon> hackathons = hackathonService.getHackathonsWithTeamsPage(hackathonsCursor, null);
+        model.addAttribute("users", users.getItems());
+        model.addAttribute("usersNextCursor", users.getNextCursor());
+        model.addAttribute("hackathons", hackathons.getItems());
+        model.addAttribute("hackathonsNextCursor", hackathons.getNextCursor());
+        model.addAttribute("totalUsers", userService.countUsers());
+        model.addAttribute("totalHackathons", hackathonService.countHackathons());
         return "admin/dashboard";
     }
 
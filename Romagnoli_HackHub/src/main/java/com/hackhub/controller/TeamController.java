@@ -1,5 +1,7 @@
 package com.hackhub.controller;
 
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.TeamResponse;
 import com.hackhub.model.Team;
 import com.hackhub.service.TeamService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,14 +20,14 @@ public class TeamController {
     private TeamService teamService;
 
     @PostMapping
-    public ResponseEntity<Team> createTeam(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<TeamResponse> createTeam(@RequestBody Map<String, Object> request) {
         String teamName = (String) request.get("teamName");
         Long hackathonId = Long.valueOf(request.get("hackathonId").toString());
         Long creatorId = Long.valueOf(request.get("creatorId").toString());
 
         // Usa il metodo diretto del service
         Team team = teamService.createTeam(teamName, hackathonId, creatorId);
-        return ResponseEntity.ok(team);
+        return ResponseEntity.ok(TeamResponse.from(team));
     }
 
     @PostMapping("/{teamId}/join")
@@ -62,8 +64,11 @@ public class TeamController {
     }
 
     @GetMapping("/hackathon/{hackathonId}")
-    public ResponseEntity<List<Team>> getTeamsByHackathon(@PathVariable Long hackathonId) {
-        return ResponseEntity.ok(teamService.getTeamsByHackathon(hackathonId));
+    public ResponseEntity<CursorPage<TeamResponse>> getTeamsByHackathon(
+            @PathVariable Long hackathonId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(teamService.getTeamsByHackathonPage(hackathonId, cursor, size));
     }
 
     @GetMapping("/hackathon/{hackathonId}/statistics")
@@ -72,8 +77,8 @@ public class TeamController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Team>> getTeamsByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(teamService.findTeamsByMember(userId));
+    public ResponseEntity<List<TeamResponse>> getTeamsByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(teamService.findTeamsByMember(userId).stream().map(TeamResponse::from).toList());
     }
 
     @GetMapping("/{teamId}/can-join/{userId}")
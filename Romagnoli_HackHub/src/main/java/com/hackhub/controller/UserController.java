@@ -1,10 +1,18 @@
 package com.hackhub.controller;
 
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.ImportResult;
+import com.hackhub.dto.UserResponse;
 import com.hackhub.model.User;
+import com.hackhub.service.BulkImportService;
 import com.hackhub.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -16,45 +24,58 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
     @PostMapping("/register")
-    public ResponseEntity<User> register(@RequestBody Map<String, String> request) {
+    public ResponseEntity<UserResponse> register(@RequestBody Map<String, String> request) {
         String email = request.get("email");
         String username = request.get("username");
         String password = request.get("password");
         String role = request.get("role");
 
         User user = userService.createUser(email, username, password, role);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserResponse.from(user));
     }
 
     @PostMapping("/register/organizer")
-    public ResponseEntity<User> registerOrganizer(@RequestBody Map<String, String> request) {
+    public ResponseEntity<UserResponse> registerOrganizer(@RequestBody Map<String, String> request) {
         String email = request.get("email");
         String username = request.get("username");
         String password = request.get("password");
 
         User user = userService.createOrganizer(email, username, password);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserResponse.from(user));
+    }
+
+    //Import massivo in streaming: CSV con intestazione oppure un oggetto JSON per riga
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResult> importParticipants(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) throws IOException {
+        boolean ndjson = contentType.startsWith("application/x-ndjson");
+        return ResponseEntity.ok(bulkImportService.importParticipants(body, ndjson));
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getUsersByRole("USER"));
+    public ResponseEntity<CursorPage<UserResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userService.getUsersByRolePage("USER", cursor, size));
     }
 
     @GetMapping("/judges")
-    public ResponseEntity<List<User>> getJudges() {
-        return ResponseEntity.ok(userService.getAvailableJudges());
+    public ResponseEntity<List<UserResponse>> getJudges() {
+        return ResponseEntity.ok(userService.getUserResponsesByRole("JUDGE"));
     }
 
     @GetMapping("/mentors")
-    public ResponseEntity<List<User>> getMentors() {
-        return ResponseEntity.ok(userService.getAvailableMentors());
+    public ResponseEntity<List<UserResponse>> getMentors() {
+        return ResponseEntity.ok(userService.getUserResponsesByRole("MENTOR"));
     }
 
     @PutMapping("/{id}/role")
-    public ResponseEntity<User> changeRole(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<UserResponse> changeRole(@PathVariable Long id, @RequestBody Map<String, String> request) {
         String newRole = request.get("role");
-        return ResponseEntity.ok(userService.updateUserRole(id, newRole));
+        return ResponseEntity.ok(UserResponse.from(userService.updateUserRole(id, newRole)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.hackhub.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pagina di risultati con paginazione keyset: il cursore è un token opaco
+ * che codifica l'ultimo ID restituito, quindi ogni pagina costa come la prima.
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String PREFIX = "id:";
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Costruisce la pagina a partire da size + 1 righe lette dal repository:
+     * la riga in più indica soltanto che esiste una pagina successiva.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, encode(idOf.apply(items.get(size - 1))));
+    }
+
+    //Limita la dimensione richiesta tra 1 e MAX_SIZE
+    public static int clampSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    //Restituisce l'ultimo ID visto, 0 per la prima pagina
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Cursore non valido");
+            }
+            return Long.valueOf(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursore non valido", e);
+        }
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return nextCursor != null; }
+}
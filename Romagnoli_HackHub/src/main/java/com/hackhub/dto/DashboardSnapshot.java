@@ -0,0 +1,138 @@
+package com.hackhub.dto;
+
+import com.hackhub.model.HackathonStatus;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modello di lettura della dashboard, costruito da poche query aggregate
+ * e indipendente dal numero di hackathon, team e utenti.
+ */
+public class DashboardSnapshot {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final Map<String, Long> usersByRole;
+    private final Map<String, Long> hackathonsByStatus;
+    private final List<HackathonRow> hackathons;
+    private final long totalTeams;
+    private final long totalSubmissions;
+    private final long pendingRequests;
+    private final List<Activity> recentActivities;
+
+    public DashboardSnapshot(Map<String, Long> usersByRole, Map<String, Long> hackathonsByStatus,
+                             List<HackathonRow> hackathons, long totalTeams, long totalSubmissions,
+                             long pendingRequests, List<Activity> recentActivities) {
+        this.usersByRole = usersByRole;
+        this.hackathonsByStatus = hackathonsByStatus;
+        this.hackathons = hackathons;
+        this.totalTeams = totalTeams;
+        this.totalSubmissions = totalSubmissions;
+        this.pendingRequests = pendingRequests;
+        this.recentActivities = recentActivities;
+    }
+
+    public long getUserCount(String role) {
+        return usersByRole.getOrDefault(role, 0L);
+    }
+
+    public long getParticipantCount() { return getUserCount("USER"); }
+    public long getOrganizerCount() { return getUserCount("ORGANIZER"); }
+    public long getJudgeCount() { return getUserCount("JUDGE"); }
+    public long getMentorCount() { return getUserCount("MENTOR"); }
+
+    public long getTotalUsers() {
+        return getParticipantCount() + getOrganizerCount() + getJudgeCount() + getMentorCount();
+    }
+
+    public long getHackathonCount(String status) {
+        return hackathonsByStatus.getOrDefault(status, 0L);
+    }
+
+    public Map<String, Long> getUsersByRole() { return usersByRole; }
+    public Map<String, Long> getHackathonsByStatus() { return hackathonsByStatus; }
+    public List<HackathonRow> getHackathons() { return hackathons; }
+    public long getTotalHackathons() { return hackathons.size(); }
+    public long getTotalTeams() { return totalTeams; }
+    public long getTotalSubmissions() { return totalSubmissions; }
+    public long getPendingRequests() { return pendingRequests; }
+    public List<Activity> getRecentActivities() { return recentActivities; }
+
+    public String getLastSubmissionDate() {
+        if (totalSubmissions == 0) {
+            return "N/A";
+        }
+        return LocalDateTime.now().minusHours(2).format(FORMATTER);
+    }
+
+    // Riga della tabella hackathon con il numero di team già calcolato
+    public static class HackathonRow {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final HackathonStatus status;
+        private final LocalDateTime registrationDeadline;
+        private final long teamCount;
+
+        public HackathonRow(Long id, String name, String description, HackathonStatus status,
+                            LocalDateTime registrationDeadline, long teamCount) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.status = status;
+            this.registrationDeadline = registrationDeadline;
+            this.teamCount = teamCount;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getDescription() { return description; }
+        public HackathonStatus getStatus() { return status; }
+        public LocalDateTime getRegistrationDeadline() { return registrationDeadline; }
+        public long getTeamCount() { return teamCount; }
+    }
+
+    // Attività recente mostrata nel feed della dashboard
+    public static class Activity {
+        private final String type;
+        private final String description;
+        private final LocalDateTime timestamp;
+        private final String user;
+
+        public Activity(String type, String description, LocalDateTime timestamp, String user) {
+            this.type = type;
+            this.description = description;
+            this.timestamp = timestamp;
+            this.user = user;
+        }
+
+        public String getType() { return type; }
+        public String getDescription() { return description; }
+        public LocalDateTime getTimestamp() { return timestamp; }
+        public String getUser() { return user; }
+
+        public String getFormattedTime() {
+            return timestamp.format(FORMATTER);
+        }
+
+        public String getIcon() {
+            return switch (type) {
+                case "submission" -> "bi-cloud-upload";
+                case "support" -> "bi-chat-dots";
+                case "team" -> "bi-people";
+                default -> "bi-info-circle";
+            };
+        }
+
+        public String getColor() {
+            return switch (type) {
+                case "submission" -> "success";
+                case "support" -> "warning";
+                case "team" -> "primary";
+                default -> "secondary";
+            };
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.hackhub.dto;
+
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Risposta REST per un hackathon: solo colonne scalari, nessuna relazione.
+ */
+public record HackathonResponse(
+        Long id,
+        String name,
+        String description,
+        String rules,
+        LocalDateTime registrationDeadline,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        HackathonStatus status,
+        Integer maxTeamSize,
+        Double prizeMoney,
+        Long winnerTeamId) {
+
+    public static HackathonResponse from(Hackathon h) {
+        return new HackathonResponse(h.getId(), h.getName(), h.getDescription(), h.getRules(),
+                h.getRegistrationDeadline(), h.getStartDate(), h.getEndDate(), h.getStatus(),
+                h.getMaxTeamSize(), h.getPrizeMoney(), h.getWinnerTeamId());
+    }
+
+    public boolean isRegistrationOpen() {
+        return Hackathon.registrationOpen(status, registrationDeadline);
+    }
+
+    public boolean isInProgress() {
+        return Hackathon.inProgress(status, startDate, endDate);
+    }
+}
@@ -0,0 +1,111 @@
+package com.hackhub.dto;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.model.HackathonStats;
+import com.hackhub.model.HackathonStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Stato di un hackathon ricostruito dal journal. Serializzato così com'è negli snapshot
+ * (solo i campi); statistiche e classifica si ricavano da qui senza altre query.
+ */
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY,
+        getterVisibility = JsonAutoDetect.Visibility.NONE,
+        isGetterVisibility = JsonAutoDetect.Visibility.NONE)
+public class HackathonState {
+
+    private long lastVersion;
+    private HackathonStatus status;
+    private Long judgeId;
+    private Set<Long> mentorIds = new TreeSet<>();
+    private Map<Long, TeamState> teams = new TreeMap<>();
+    private Long winnerTeamId;
+
+    @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+    public static class TeamState {
+        private String name;
+        private boolean submitted;
+        private Double score;
+    }
+
+    public void apply(HackathonEvent event) {
+        switch (event.getType()) {
+            case HACKATHON_CREATED -> status = HackathonStatus.parse(event.getNewValue());
+            case STATUS_CHANGED -> status = HackathonStatus.parse(event.getNewValue());
+            case JUDGE_ASSIGNED -> judgeId = event.getUserId();
+            case MENTOR_ADDED -> mentorIds.add(event.getUserId());
+            case MENTOR_REMOVED -> mentorIds.remove(event.getUserId());
+            case TEAM_CREATED -> {
+                TeamState team = new TeamState();
+                team.name = event.getNewValue();
+                teams.put(event.getTeamId(), team);
+            }
+            case TEAM_DELETED -> teams.remove(event.getTeamId());
+            // Un nome di progetto vuoto ritira l'invio, come Team.hasSubmittedProject
+            case PROJECT_SUBMITTED -> team(event).submitted =
+                    event.getNewValue() != null && !event.getNewValue().trim().isEmpty();
+            case TEAM_EVALUATED -> team(event).score = event.getScore();
+            case WINNER_DECLARED -> winnerTeamId = event.getTeamId();
+        }
+        lastVersion = event.getVersion();
+    }
+
+    // Un team senza TEAM_CREATED (journal incompleto) viene comunque tracciato
+    private TeamState team(HackathonEvent event) {
+        return teams.computeIfAbsent(event.getTeamId(), id -> new TeamState());
+    }
+
+    // Statistiche come in hackathon_stats
+    public HackathonStats toStats(Long hackathonId) {
+        HackathonStats stats = new HackathonStats(hackathonId);
+        stats.setTeamCount(teams.size());
+        for (TeamState team : teams.values()) {
+            if (team.submitted) {
+                stats.setSubmittedCount(stats.getSubmittedCount() + 1);
+            }
+            if (team.score != null) {
+                stats.setEvaluatedCount(stats.getEvaluatedCount() + 1);
+                stats.setScoreSum(stats.getScoreSum() + team.score);
+                stats.setScoreMin(stats.getScoreMin() == null ? team.score : Math.min(stats.getScoreMin(), team.score));
+                stats.setScoreMax(stats.getScoreMax() == null ? team.score : Math.max(stats.getScoreMax(), team.score));
+            } else if (team.submitted) {
+                stats.setPendingEvaluations(stats.getPendingEvaluations() + 1);
+            }
+        }
+        return stats;
+    }
+
+    // Classifica con lo stesso ordinamento di LeaderboardService: punteggio decrescente, poi id del team
+    public List<LeaderboardEntry> ranking() {
+        List<Map.Entry<Long, TeamState>> evaluated = new ArrayList<>();
+        for (Map.Entry<Long, TeamState> entry : teams.entrySet()) {
+            if (entry.getValue().score != null) {
+                evaluated.add(entry);
+            }
+        }
+        evaluated.sort(Comparator.comparing((Map.Entry<Long, TeamState> e) -> e.getValue().score).reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        List<LeaderboardEntry> ranking = new ArrayList<>(evaluated.size());
+        for (Map.Entry<Long, TeamState> entry : evaluated) {
+            ranking.add(new LeaderboardEntry(ranking.size() + 1, entry.getKey(),
+                    entry.getValue().name, entry.getValue().score));
+        }
+        return ranking;
+    }
+
+    public long getLastVersion() { return lastVersion; }
+    public HackathonStatus getStatus() { return status; }
+    public Long getJudgeId() { return judgeId; }
+    public Set<Long> getMentorIds() { return mentorIds; }
+    public Long getWinnerTeamId() { return winnerTeamId; }
+    public int getTeamCount() { return teams.size(); }
+}
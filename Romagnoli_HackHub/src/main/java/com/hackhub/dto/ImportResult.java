@@ -0,0 +1,39 @@
+package com.hackhub.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Esito di un import massivo: contatori e righe scartate con il motivo.
+ */
+public class ImportResult {
+
+    // Oltre questa soglia gli errori vengono solo contati, per non crescere con il file
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long totalRows;
+    private long importedUsers;
+    private long createdTeams;
+    private long failedRows;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void addRow() { totalRows++; }
+    public void addImportedUsers(long count) { importedUsers += count; }
+    public void addCreatedTeams(long count) { createdTeams += count; }
+
+    public void addError(long line, String message) {
+        failedRows++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public long getTotalRows() { return totalRows; }
+    public long getImportedUsers() { return importedUsers; }
+    public long getCreatedTeams() { return createdTeams; }
+    public long getFailedRows() { return failedRows; }
+    public List<RowError> getErrors() { return errors; }
+    public boolean isErrorsTruncated() { return failedRows > errors.size(); }
+
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,10 @@
+package com.hackhub.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notifica in-app così come esposta dall'inbox (e tenuta nel buffer in memoria).
+ * seq è la posizione nell'inbox dell'utente, usata come soglia di lettura.
+ */
+public record InboxItem(Long id, long seq, String message, LocalDateTime createdAt) {
+}
@@ -0,0 +1,11 @@
+package com.hackhub.dto;
+
+/**
+ * Posizione di un team nella classifica di un hackathon (rank a partire da 1).
+ */
+public record LeaderboardEntry(
+        int rank,
+        Long teamId,
+        String teamName,
+        Double score) {
+}
@@ -0,0 +1,30 @@
+package com.hackhub.dto;
+
+import com.hackhub.model.SupportRequest;
+import java.time.LocalDateTime;
+
+/**
+ * Risposta REST per una richiesta di supporto: team e mentore ridotti a ID e nome.
+ */
+public record SupportRequestResponse(
+        Long id,
+        String title,
+        String description,
+        LocalDateTime requestDate,
+        String status,
+        String calendarEventId,
+        LocalDateTime scheduledDate,
+        Long teamId,
+        String teamName,
+        Long mentorId,
+        String mentorName) {
+
+    public static SupportRequestResponse from(SupportRequest r) {
+        return new SupportRequestResponse(r.getId(), r.getTitle(), r.getDescription(), r.getRequestDate(),
+                r.getStatus(), r.getCalendarEventId(), r.getScheduledDate(),
+                r.getTeam() != null ? r.getTeam().getId() : null,
+                r.getTeam() != null ? r.getTeam().getName() : null,
+                r.getMentor() != null ? r.getMentor().getId() : null,
+                r.getMentor() != null ? r.getMentor().getUsername() : null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.hackhub.dto;
+
+import com.hackhub.model.Team;
+import java.util.List;
+
+/**
+ * Risposta REST per un team, con i soli nomi dei membri.
+ */
+public record TeamResponse(
+        Long id,
+        String name,
+        String projectName,
+        String projectDescription,
+        String repositoryUrl,
+        Double score,
+        String judgeFeedback,
+        int memberCount,
+        boolean full,
+        List<String> memberNames) {
+
+    // Usato dalle query JPQL: i nomi dei membri arrivano da una seconda query
+    public TeamResponse(Long id, String name, String projectName, String projectDescription,
+                        String repositoryUrl, Double score, String judgeFeedback,
+                        Integer maxTeamSize, Integer memberCount) {
+        this(id, name, projectName, projectDescription, repositoryUrl, score, judgeFeedback,
+                memberCount, maxTeamSize != null && memberCount >= maxTeamSize, List.of());
+    }
+
+    public static TeamResponse from(Team t) {
+        return new TeamResponse(t.getId(), t.getName(), t.getProjectName(), t.getProjectDescription(),
+                t.getRepositoryUrl(), t.getScore(), t.getJudgeFeedback(),
+                t.getMemberCount(), t.isFull(), t.getMemberNames());
+    }
+
+    public TeamResponse withMemberNames(List<String> names) {
+        return new TeamResponse(id, name, projectName, projectDescription, repositoryUrl, score,
+                judgeFeedback, memberCount, full, names);
+    }
+
+    public boolean isEvaluated() {
+        return score != null;
+    }
+}
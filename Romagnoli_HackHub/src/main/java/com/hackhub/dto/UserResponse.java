@@ -0,0 +1,32 @@
+package com.hackhub.dto;
+
+import com.hackhub.model.User;
+import java.util.Objects;
+
+/**
+ * Risposta REST per un utente, senza password né relazioni.
+ */
+public record UserResponse(
+        Long id,
+        String email,
+        String username,
+        String role,
+        boolean inTeam,
+        boolean teamCreator) {
+
+    // Usato dalle query JPQL: riceve gli ID di team e creatore invece delle entità
+    public UserResponse(Long id, String email, String username, String role, Long teamId, Long teamCreatorId) {
+        this(id, email, username, role, teamId != null, teamId != null && Objects.equals(teamCreatorId, id));
+    }
+
+    public static UserResponse from(User u) {
+        Long teamId = u.getTeam() != null ? u.getTeam().getId() : null;
+        Long creatorId = u.getTeam() != null && u.getTeam().getCreator() != null
+                ? u.getTeam().getCreator().getId() : null;
+        return new UserResponse(u.getId(), u.getEmail(), u.getUsername(), u.getRole(), teamId, creatorId);
+    }
+
+    public String getRoleItalian() {
+        return User.roleItalian(role);
+    }
+}
@@ -2,16 +2,27 @@ package com.hackhub.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "hackathons")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hackathons")
+@Table(name = "hackathons", indexes = {
+        @Index(name = "idx_hackathons_status_deadline", columnList = "status, registration_deadline"),
+        @Index(name = "idx_hackathons_status_end", columnList = "status, end_date"),
+        @Index(name = "idx_hackathons_organizer", columnList = "organizer_id, id"),
+        @Index(name = "idx_hackathons_judge", columnList = "judge_id")
+})
 public class Hackathon {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hackathons_seq")
+    @SequenceGenerator(name = "hackathons_seq", sequenceName = "hackathons_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,8 +43,10 @@ public class Hackathon {
     @Column(nullable = false)
     private LocalDateTime endDate;
 
-    @Column(nullable = false)
-    private String status = "INSCRIZIONE"; // "INSCRIZIONE", "IN_CORSO", "IN_VALUTAZIONE", "CONCLUSO"
+    // Codice di un carattere (CHAR(1)), vedi HackathonStatusConverter
+    @Column(nullable = false, length = 1)
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private HackathonStatus status = HackathonStatus.INSCRIZIONE;
 
     @Column(nullable = false)
     private Integer maxTeamSize;
@@ -57,9 +70,14 @@ public class Hackathon {
     @JoinTable(
             name = "hackathon_mentors",
             joinColumns = @JoinColumn(name = "hackathon_id"),
-            inverseJoinColumns = @JoinColumn(name = "mentor_id")
+            inverseJoinColumns = @JoinColumn(name = "mentor_id"),
+            indexes = {
+                    @Index(name = "idx_hackathon_mentors_hackathon", columnList = "hackathon_id, mentor_id"),
+                    @Index(name = "idx_hackathon_mentors_mentor", columnList = "mentor_id")
+            }
     )
     @JsonIgnore
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hackathon-mentors")
     private List<User> mentors = new ArrayList<>();
 
     @OneToMany(mappedBy = "hackathon", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -84,7 +102,7 @@ public class Hackathon {
         this.endDate = endDate;
         this.maxTeamSize = maxTeamSize;
         this.organizer = organizer;
-        this.status = "INSCRIZIONE";
+        this.status = HackathonStatus.INSCRIZIONE;
         this.prizeMoney = 0.0;
     }
 
@@ -98,12 +116,21 @@ public class Hackathon {
     // ========== METODI DI UTILITÀ ==========
     
     public boolean isRegistrationOpen() {
-        return "INSCRIZIONE".equals(status) &&
-                LocalDateTime.now().isBefore(registrationDeadline);
+        return registrationOpen(status, registrationDeadline);
     }
 
     public boolean isInProgress() {
-        return "IN_CORSO".equals(status) &&
+        return inProgress(status, startDate, endDate);
+    }
+
+    // Regole condivise con i DTO, che non caricano l'entità
+    public static boolean registrationOpen(HackathonStatus status, LocalDateTime registrationDeadline) {
+        return status == HackathonStatus.INSCRIZIONE &&
+                LocalDateTime.now().isBefore(registrationDeadline);
+    }
+
+    public static boolean inProgress(HackathonStatus status, LocalDateTime startDate, LocalDateTime endDate) {
+        return status == HackathonStatus.IN_CORSO &&
                 LocalDateTime.now().isAfter(startDate) &&
                 LocalDateTime.now().isBefore(endDate);
     }
@@ -133,8 +160,8 @@ public class Hackathon {
     public LocalDateTime getEndDate() { return endDate; }
     public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public HackathonStatus getStatus() { return status; }
+    public void setStatus(HackathonStatus status) { this.status = status; }
 
     public Integer getMaxTeamSize() { return maxTeamSize; }
     public void setMaxTeamSize(Integer maxTeamSize) { this.maxTeamSize = maxTeamSize; }
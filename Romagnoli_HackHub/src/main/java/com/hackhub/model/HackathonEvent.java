@@ -0,0 +1,143 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+/**
+ * Evento del journal di un hackathon: solo inserimenti, mai modifiche.
+ * Lo stato di un hackathon si ricostruisce riapplicando i suoi eventi in ordine di versione
+ * (vedi HackathonState), a partire dall'ultimo snapshot. La versione è assegnata dal journal
+ * in ordine di commit; l'id da sequenza no, quindi non serve per ordinare.
+ */
+@Entity
+@Immutable
+@Table(name = "hackathon_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_hackathon_events_version", columnNames = {"hackathon_id", "version"})
+})
+public class HackathonEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hackathon_events_seq")
+    @SequenceGenerator(name = "hackathon_events_seq", sequenceName = "hackathon_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "hackathon_id", nullable = false)
+    private Long hackathonId;
+
+    // Posizione nel journal dell'hackathon: 1, 2, 3... in ordine di commit
+    @Column(nullable = false)
+    private long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private HackathonEventType type;
+
+    // Team coinvolto (creazione, invio, valutazione, vincitore)
+    private Long teamId;
+
+    // Utente coinvolto (giudice, mentor)
+    private Long userId;
+
+    @Column(length = 30)
+    private String oldValue;
+
+    private String newValue;
+
+    private Double score;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // ========== COSTRUTTORI ==========
+
+    protected HackathonEvent() {}
+
+    private HackathonEvent(Long hackathonId, HackathonEventType type) {
+        this.hackathonId = hackathonId;
+        this.type = type;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static HackathonEvent hackathonCreated(Hackathon hackathon) {
+        HackathonEvent event = new HackathonEvent(hackathon.getId(), HackathonEventType.HACKATHON_CREATED);
+        event.newValue = hackathon.getStatus().name();
+        return event;
+    }
+
+    public static HackathonEvent statusChanged(Long hackathonId, HackathonStatus oldStatus, HackathonStatus newStatus) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.STATUS_CHANGED);
+        event.oldValue = oldStatus.name();
+        event.newValue = newStatus.name();
+        return event;
+    }
+
+    public static HackathonEvent judgeAssigned(Long hackathonId, Long judgeId) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.JUDGE_ASSIGNED);
+        event.userId = judgeId;
+        return event;
+    }
+
+    public static HackathonEvent mentorAdded(Long hackathonId, Long mentorId) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.MENTOR_ADDED);
+        event.userId = mentorId;
+        return event;
+    }
+
+    public static HackathonEvent mentorRemoved(Long hackathonId, Long mentorId) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.MENTOR_REMOVED);
+        event.userId = mentorId;
+        return event;
+    }
+
+    public static HackathonEvent teamCreated(Long hackathonId, Long teamId, String teamName) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.TEAM_CREATED);
+        event.teamId = teamId;
+        event.newValue = teamName;
+        return event;
+    }
+
+    public static HackathonEvent teamDeleted(Long hackathonId, Long teamId) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.TEAM_DELETED);
+        event.teamId = teamId;
+        return event;
+    }
+
+    public static HackathonEvent projectSubmitted(Long hackathonId, Long teamId, String projectName) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.PROJECT_SUBMITTED);
+        event.teamId = teamId;
+        event.newValue = projectName;
+        return event;
+    }
+
+    public static HackathonEvent teamEvaluated(Long hackathonId, Long teamId, Double score) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.TEAM_EVALUATED);
+        event.teamId = teamId;
+        event.score = score;
+        return event;
+    }
+
+    public static HackathonEvent winnerDeclared(Long hackathonId, Long teamId) {
+        HackathonEvent event = new HackathonEvent(hackathonId, HackathonEventType.WINNER_DECLARED);
+        event.teamId = teamId;
+        return event;
+    }
+
+    //Solo il journal, prima dell'inserimento
+    public void assignVersion(long version) {
+        this.version = version;
+    }
+
+    // ========== GETTER ==========
+
+    public Long getId() { return id; }
+    public Long getHackathonId() { return hackathonId; }
+    public long getVersion() { return version; }
+    public HackathonEventType getType() { return type; }
+    public Long getTeamId() { return teamId; }
+    public Long getUserId() { return userId; }
+    public String getOldValue() { return oldValue; }
+    public String getNewValue() { return newValue; }
+    public Double getScore() { return score; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
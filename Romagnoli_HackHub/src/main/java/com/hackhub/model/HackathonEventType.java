@@ -0,0 +1,17 @@
+package com.hackhub.model;
+
+/**
+ * Tipi di evento registrati nel journal di un hackathon.
+ */
+public enum HackathonEventType {
+    HACKATHON_CREATED,
+    STATUS_CHANGED,
+    JUDGE_ASSIGNED,
+    MENTOR_ADDED,
+    MENTOR_REMOVED,
+    TEAM_CREATED,
+    TEAM_DELETED,
+    PROJECT_SUBMITTED,
+    TEAM_EVALUATED,
+    WINNER_DECLARED
+}
@@ -0,0 +1,35 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Ultima versione del journal di un hackathon. Chi scrive eventi incrementa questa riga
+ * e ne tiene il lock fino al commit, quindi le versioni degli eventi di uno stesso
+ * hackathon seguono l'ordine di commit, su qualunque nodo vengano scritti.
+ */
+@Entity
+@Table(name = "hackathon_journal_heads")
+public class HackathonJournalHead {
+
+    @Id
+    @Column(name = "hackathon_id")
+    private Long hackathonId;
+
+    @Column(nullable = false)
+    private long version;
+
+    // ========== COSTRUTTORI ==========
+
+    protected HackathonJournalHead() {}
+
+    public HackathonJournalHead(Long hackathonId, long version) {
+        this.hackathonId = hackathonId;
+        this.version = version;
+    }
+
+    // ========== GETTER ==========
+
+    public Long getHackathonId() { return hackathonId; }
+
+    public long getVersion() { return version; }
+}
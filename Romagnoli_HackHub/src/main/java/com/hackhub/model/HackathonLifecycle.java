@@ -0,0 +1,67 @@
+package com.hackhub.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tabella delle transizioni di stato di un hackathon, con le condizioni (guard)
+ * da rispettare per ciascuna. Il ciclo di vita procede solo in avanti, un passo alla volta:
+ * INSCRIZIONE -> IN_CORSO -> IN_VALUTAZIONE -> CONCLUSO.
+ */
+public final class HackathonLifecycle {
+
+    // Restituisce il motivo per cui la transizione non è consentita, null se lo è
+    @FunctionalInterface
+    public interface Guard {
+        String check(Hackathon hackathon, HackathonStats stats);
+    }
+
+    private static final Guard ALWAYS = (hackathon, stats) -> null;
+
+    private static final Map<HackathonStatus, Map<HackathonStatus, Guard>> TRANSITIONS =
+            new EnumMap<>(HackathonStatus.class);
+
+    static {
+        for (HackathonStatus status : HackathonStatus.values()) {
+            TRANSITIONS.put(status, new EnumMap<>(HackathonStatus.class));
+        }
+        allow(HackathonStatus.INSCRIZIONE, HackathonStatus.IN_CORSO, ALWAYS);
+        allow(HackathonStatus.IN_CORSO, HackathonStatus.IN_VALUTAZIONE, ALWAYS);
+        allow(HackathonStatus.IN_VALUTAZIONE, HackathonStatus.CONCLUSO, (hackathon, stats) ->
+                stats != null && stats.getPendingEvaluations() > 0
+                        ? "Ci sono ancora " + stats.getPendingEvaluations() + " progetti da valutare"
+                        : null);
+    }
+
+    private HackathonLifecycle() {}
+
+    private static void allow(HackathonStatus from, HackathonStatus to, Guard guard) {
+        TRANSITIONS.get(from).put(to, guard);
+    }
+
+    public static boolean isAllowed(HackathonStatus from, HackathonStatus to) {
+        return TRANSITIONS.get(from).containsKey(to);
+    }
+
+    public static Set<HackathonStatus> nextStates(HackathonStatus from) {
+        return Collections.unmodifiableSet(TRANSITIONS.get(from).keySet());
+    }
+
+    /**
+     * Verifica che l'hackathon possa passare allo stato indicato.
+     * Solleva IllegalStateException se la transizione non esiste o la guard la blocca.
+     */
+    public static void check(Hackathon hackathon, HackathonStatus to, HackathonStats stats) {
+        HackathonStatus from = hackathon.getStatus();
+        Guard guard = TRANSITIONS.get(from).get(to);
+        if (guard == null) {
+            throw new IllegalStateException("Transizione non consentita: " + from + " -> " + to);
+        }
+        String reason = guard.check(hackathon, stats);
+        if (reason != null) {
+            throw new IllegalStateException(reason);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Ultimo snapshot dello stato di un hackathon ricostruito dal journal:
+ * il replay riparte da qui e applica solo gli eventi con versione maggiore di lastVersion.
+ */
+@Entity
+@Table(name = "hackathon_snapshots")
+public class HackathonSnapshot {
+
+    @Id
+    @Column(name = "hackathon_id")
+    private Long hackathonId;
+
+    @Column(nullable = false)
+    private long lastVersion;
+
+    // HackathonState serializzato in JSON
+    @Lob
+    @Column(nullable = false)
+    private String state;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+
+    // ========== COSTRUTTORI ==========
+
+    public HackathonSnapshot() {}
+
+    public HackathonSnapshot(Long hackathonId, long lastVersion, String state) {
+        this.hackathonId = hackathonId;
+        this.lastVersion = lastVersion;
+        this.state = state;
+        this.takenAt = LocalDateTime.now();
+    }
+
+    // ========== GETTER E SETTER ==========
+
+    public Long getHackathonId() { return hackathonId; }
+    public void setHackathonId(Long hackathonId) { this.hackathonId = hackathonId; }
+
+    public long getLastVersion() { return lastVersion; }
+    public void setLastVersion(long lastVersion) { this.lastVersion = lastVersion; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public LocalDateTime getTakenAt() { return takenAt; }
+    public void setTakenAt(LocalDateTime takenAt) { this.takenAt = takenAt; }
+}
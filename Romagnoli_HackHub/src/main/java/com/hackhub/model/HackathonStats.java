@@ -0,0 +1,77 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Contatori e aggregati dei punteggi di un hackathon, aggiornati a ogni creazione
+ * di team, invio di progetto e valutazione: statistiche e controllo di conclusione
+ * non devono più scorrere tutti i team.
+ */
+@Entity
+@Table(name = "hackathon_stats")
+public class HackathonStats {
+
+    @Id
+    @Column(name = "hackathon_id")
+    private Long hackathonId;
+
+    @Column(nullable = false)
+    private int teamCount;
+
+    @Column(nullable = false)
+    private int submittedCount;
+
+    @Column(nullable = false)
+    private int evaluatedCount;
+
+    // Progetti inviati e non ancora valutati: a zero l'hackathon può essere concluso
+    @Column(nullable = false)
+    private int pendingEvaluations;
+
+    @Column(nullable = false)
+    private double scoreSum;
+
+    @Column
+    private Double scoreMin;
+
+    @Column
+    private Double scoreMax;
+
+    // ========== COSTRUTTORI ==========
+
+    public HackathonStats() {}
+
+    public HackathonStats(Long hackathonId) {
+        this.hackathonId = hackathonId;
+    }
+
+    public double getAverageScore() {
+        return evaluatedCount > 0 ? scoreSum / evaluatedCount : 0.0;
+    }
+
+    // ========== GETTER E SETTER ==========
+
+    public Long getHackathonId() { return hackathonId; }
+    public void setHackathonId(Long hackathonId) { this.hackathonId = hackathonId; }
+
+    public int getTeamCount() { return teamCount; }
+    public void setTeamCount(int teamCount) { this.teamCount = teamCount; }
+
+    public int getSubmittedCount() { return submittedCount; }
+    public void setSubmittedCount(int submittedCount) { this.submittedCount = submittedCount; }
+
+    public int getEvaluatedCount() { return evaluatedCount; }
+    public void setEvaluatedCount(int evaluatedCount) { this.evaluatedCount = evaluatedCount; }
+
+    public int getPendingEvaluations() { return pendingEvaluations; }
+    public void setPendingEvaluations(int pendingEvaluations) { this.pendingEvaluations = pendingEvaluations; }
+
+    public double getScoreSum() { return scoreSum; }
+    public void setScoreSum(double scoreSum) { this.scoreSum = scoreSum; }
+
+    public Double getScoreMin() { return scoreMin; }
+    public void setScoreMin(Double scoreMin) { this.scoreMin = scoreMin; }
+
+    public Double getScoreMax() { return scoreMax; }
+    public void setScoreMax(Double scoreMax) { this.scoreMax = scoreMax; }
+}
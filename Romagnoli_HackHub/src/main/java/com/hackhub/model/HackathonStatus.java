@@ -0,0 +1,50 @@
+package com.hackhub.model;
+
+/**
+ * Stati del ciclo di vita di un hackathon. Sul database ogni stato è un codice
+ * di un carattere (vedi HackathonStatusConverter); le transizioni consentite
+ * sono in HackathonLifecycle.
+ */
+public enum HackathonStatus {
+
+    INSCRIZIONE("I", "In Iscrizione", "bg-primary"),
+    IN_CORSO("C", "In Corso", "bg-success"),
+    IN_VALUTAZIONE("V", "In Valutazione", "bg-warning"),
+    CONCLUSO("X", "Concluso", "bg-secondary");
+
+    private final String code;
+    private final String label;
+    private final String badgeClass;
+
+    HackathonStatus(String code, String label, String badgeClass) {
+        this.code = code;
+        this.label = label;
+        this.badgeClass = badgeClass;
+    }
+
+    public String getCode() { return code; }
+    public String getLabel() { return label; }
+    public String getBadgeClass() { return badgeClass; }
+
+    public static HackathonStatus fromCode(String code) {
+        return switch (code) {
+            case "I" -> INSCRIZIONE;
+            case "C" -> IN_CORSO;
+            case "V" -> IN_VALUTAZIONE;
+            case "X" -> CONCLUSO;
+            default -> throw new IllegalArgumentException("Codice stato sconosciuto: " + code);
+        };
+    }
+
+    //Stato indicato per nome, come arriva dalle API e dai form
+    public static HackathonStatus parse(String name) {
+        if (name != null) {
+            for (HackathonStatus status : values()) {
+                if (status.name().equals(name)) {
+                    return status;
+                }
+            }
+        }
+        throw new RuntimeException("Stato non valido: " + name);
+    }
+}
@@ -0,0 +1,19 @@
+package com.hackhub.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stato salvato come codice di un carattere: colonna e indici compatti, indipendenti dall'ordine dell'enum
+@Converter(autoApply = true)
+public class HackathonStatusConverter implements AttributeConverter<HackathonStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(HackathonStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public HackathonStatus convertToEntityAttribute(String code) {
+        return code != null ? HackathonStatus.fromCode(code) : null;
+    }
+}
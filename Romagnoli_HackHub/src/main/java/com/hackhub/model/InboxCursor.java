@@ -0,0 +1,54 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Posizioni dell'inbox di un utente: lastSeq è l'ultima notifica consegnata, ackedSeq
+ * l'ultima letta. Entrambe si aggiornano con UPDATE condizionali (InboxCursorRepository),
+ * che tengono la riga bloccata fino al commit: le posizioni seguono l'ordine di commit.
+ */
+@Entity
+@Table(name = "inbox_cursors", indexes = {
+        @Index(name = "idx_inbox_cursors_changed", columnList = "changed_at")
+})
+public class InboxCursor {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long lastSeq;
+
+    @Column(nullable = false)
+    private long ackedSeq;
+
+    private LocalDateTime ackedAt;
+
+    // Ultima modifica, per allineare i contatori in memoria degli altri nodi
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // ========== COSTRUTTORI ==========
+
+    protected InboxCursor() {}
+
+    //Prima consegna a un utente senza riga: le prime posizioni sono già riservate
+    public InboxCursor(Long userId, long lastSeq) {
+        this.userId = userId;
+        this.lastSeq = lastSeq;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    // ========== GETTER ==========
+
+    public Long getUserId() { return userId; }
+
+    public long getLastSeq() { return lastSeq; }
+
+    public long getAckedSeq() { return ackedSeq; }
+
+    public LocalDateTime getAckedAt() { return ackedAt; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
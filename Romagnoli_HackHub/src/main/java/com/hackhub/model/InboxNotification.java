@@ -0,0 +1,62 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Notifica in-app di un utente. Le righe non vengono mai modificate:
+ * la lettura è registrata a parte, in InboxCursor. seq è la posizione nell'inbox
+ * dell'utente (1, 2, 3... in ordine di commit), riservata su InboxCursor.
+ */
+@Entity
+@Immutable
+@Table(name = "inbox_notifications", indexes = {
+        @Index(name = "idx_inbox_notifications_user", columnList = "user_id, created_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_inbox_notifications_seq", columnNames = {"user_id", "seq"})
+})
+public class InboxNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inbox_notifications_seq")
+    @SequenceGenerator(name = "inbox_notifications_seq", sequenceName = "inbox_notifications_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    @Column(nullable = false, length = 4000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // ========== COSTRUTTORI ==========
+
+    protected InboxNotification() {}
+
+    public InboxNotification(Long userId, long seq, String message) {
+        this.userId = userId;
+        this.seq = seq;
+        this.message = message;
+        // Stessa precisione della colonna, così buffer in memoria e database coincidono
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // ========== GETTER ==========
+
+    public Long getId() { return id; }
+
+    public Long getUserId() { return userId; }
+
+    public long getSeq() { return seq; }
+
+    public String getMessage() { return message; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
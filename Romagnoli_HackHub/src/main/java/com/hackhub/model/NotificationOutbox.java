@@ -0,0 +1,123 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Notifica in attesa di consegna. La riga nasce nella stessa transazione della modifica
+ * che la genera: se la transazione fallisce la notifica non parte, se il processo si ferma
+ * la riga resta e verrà consegnata da un altro giro del dispatcher.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_notification_outbox_coalesce", columnList = "coalesce_key, recipient_id")
+})
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    // EMAIL o IN_APP, come le strategie di NotificationContext
+    @Column(nullable = false, length = 20)
+    private String channel;
+
+    @Column(nullable = false, length = 4000)
+    private String message;
+
+    // Es. "hackathon:1:STATUS_CHANGED"; null per le notifiche che non si sostituiscono
+    @Column(name = "coalesce_key", length = 100)
+    private String coalesceKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private NotificationOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Prossimo tentativo; mentre un dispatcher consegna la riga vale da scadenza del suo lease
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    // ========== COSTRUTTORI ==========
+
+    protected NotificationOutbox() {}
+
+    public NotificationOutbox(String channel, String message, Long recipientId) {
+        this.channel = channel;
+        this.message = message;
+        this.recipientId = recipientId;
+        this.status = NotificationOutboxStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // ========== METODI DI BUSINESS ==========
+
+    /**
+     * Registra un tentativo fallito: riprova dopo il backoff indicato,
+     * oppure passa tra le notifiche morte se i tentativi sono esauriti.
+     */
+    public void recordFailure(String error, int maxAttempts, long backoffMs) {
+        attempts++;
+        lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (attempts >= maxAttempts) {
+            status = NotificationOutboxStatus.DEAD;
+        } else {
+            nextAttemptAt = LocalDateTime.now().plusNanos(backoffMs * 1_000_000);
+        }
+    }
+
+    //Notifica con chiave di coalescenza, consegnata solo dopo la finestra di attesa
+    public NotificationOutbox coalesced(String coalesceKey, long windowMs) {
+        this.coalesceKey = coalesceKey;
+        this.nextAttemptAt = createdAt.plusNanos(windowMs * 1_000_000);
+        return this;
+    }
+
+    //Rimette in coda una notifica morta, con i tentativi azzerati
+    public void requeue() {
+        status = NotificationOutboxStatus.PENDING;
+        attempts = 0;
+        nextAttemptAt = LocalDateTime.now();
+    }
+
+    // ========== GETTER E SETTER ==========
+
+    public Long getId() { return id; }
+
+    public Long getRecipientId() { return recipientId; }
+
+    public String getChannel() { return channel; }
+
+    public String getMessage() { return message; }
+
+    public String getCoalesceKey() { return coalesceKey; }
+
+    public NotificationOutboxStatus getStatus() { return status; }
+
+    public int getAttempts() { return attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+}
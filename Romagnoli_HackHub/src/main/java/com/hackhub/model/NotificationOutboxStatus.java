@@ -0,0 +1,13 @@
+package com.hackhub.model;
+
+/**
+ * Stato di una notifica nell'outbox: in attesa (anche tra un tentativo e l'altro),
+ * consegnata, abbandonata dopo aver esaurito i tentativi, oppure sostituita
+ * da una notifica più recente con la stessa chiave di coalescenza.
+ */
+public enum NotificationOutboxStatus {
+    PENDING,
+    SENT,
+    DEAD,
+    SUPERSEDED
+}
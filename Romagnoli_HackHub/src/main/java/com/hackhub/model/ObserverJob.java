@@ -0,0 +1,137 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+
+/**
+ * Evento di un hackathon da passare agli observer. La riga nasce nella transazione della modifica
+ * e viene cancellata nella transazione in cui gli observer scrivono l'outbox: le notifiche non si
+ * perdono se il nodo si ferma dopo il commit e non vengono accodate due volte.
+ * L'id segue l'ordine di commit per hackathon (allocationSize 1, assegnato dopo il blocco sulla
+ * testa del journal), quindi gli eventi dello stesso hackathon si eseguono in ordine di id.
+ */
+@Entity
+@Table(name = "observer_jobs", indexes = {
+        @Index(name = "idx_observer_jobs_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_observer_jobs_hackathon", columnList = "hackathon_id, status, id")
+})
+public class ObserverJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "observer_jobs_seq")
+    @SequenceGenerator(name = "observer_jobs_seq", sequenceName = "observer_jobs_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "hackathon_id", nullable = false)
+    private Long hackathonId;
+
+    // STATUS_CHANGED, JUDGE_ASSIGNED o WINNER_DECLARED
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private HackathonEventType eventType;
+
+    @Column(name = "old_status", length = 1)
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private HackathonStatus oldStatus;
+
+    @Column(name = "new_status", length = 1)
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private HackathonStatus newStatus;
+
+    @Column(name = "winner_team_id")
+    private Long winnerTeamId;
+
+    // PENDING finché non riesce, DEAD dopo aver esaurito i tentativi
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private NotificationOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // ========== COSTRUTTORI ==========
+
+    protected ObserverJob() {}
+
+    private ObserverJob(Long hackathonId, HackathonEventType eventType) {
+        this.hackathonId = hackathonId;
+        this.eventType = eventType;
+        this.status = NotificationOutboxStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public static ObserverJob statusChanged(Long hackathonId, HackathonStatus oldStatus, HackathonStatus newStatus) {
+        ObserverJob job = new ObserverJob(hackathonId, HackathonEventType.STATUS_CHANGED);
+        job.oldStatus = oldStatus;
+        job.newStatus = newStatus;
+        return job;
+    }
+
+    public static ObserverJob judgeAssigned(Long hackathonId) {
+        return new ObserverJob(hackathonId, HackathonEventType.JUDGE_ASSIGNED);
+    }
+
+    public static ObserverJob winnerDeclared(Long hackathonId, Long winnerTeamId) {
+        ObserverJob job = new ObserverJob(hackathonId, HackathonEventType.WINNER_DECLARED);
+        job.winnerTeamId = winnerTeamId;
+        return job;
+    }
+
+    // ========== METODI DI BUSINESS ==========
+
+    //Tentativo fallito: si riprova dopo il backoff, oppure il lavoro è abbandonato
+    public void recordFailure(String error, int maxAttempts, long backoffMs) {
+        attempts++;
+        lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (attempts >= maxAttempts) {
+            status = NotificationOutboxStatus.DEAD;
+        } else {
+            nextAttemptAt = LocalDateTime.now().plusNanos(backoffMs * 1_000_000);
+        }
+    }
+
+    public String describe() {
+        return switch (eventType) {
+            case STATUS_CHANGED -> "cambio stato " + newStatus;
+            case JUDGE_ASSIGNED -> "giudice assegnato";
+            case WINNER_DECLARED -> "vincitore dichiarato";
+            default -> eventType.name();
+        };
+    }
+
+    // ========== GETTER ==========
+
+    public Long getId() { return id; }
+
+    public Long getHackathonId() { return hackathonId; }
+
+    public HackathonEventType getEventType() { return eventType; }
+
+    public HackathonStatus getOldStatus() { return oldStatus; }
+
+    public HackathonStatus getNewStatus() { return newStatus; }
+
+    public Long getWinnerTeamId() { return winnerTeamId; }
+
+    public NotificationOutboxStatus getStatus() { return status; }
+
+    public int getAttempts() { return attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,42 @@
+package com.hackhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Lease di un job schedulato condiviso tra i nodi. Il token di fencing cresce a ogni
+ * cambio di proprietario: chi scrive lo verifica, così un nodo che ha perso il lease
+ * senza accorgersene non può più modificare i dati.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    @Column(nullable = false)
+    private long fencingToken;
+
+    private LocalDateTime expiresAt;
+
+    // ========== COSTRUTTORI ==========
+
+    public SchedulerLease() {}
+
+    // ========== GETTER E SETTER ==========
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public long getFencingToken() { return fencingToken; }
+    public void setFencingToken(long fencingToken) { this.fencingToken = fencingToken; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -4,9 +4,13 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "submission", indexes = {
+        @Index(name = "idx_submission_team", columnList = "team_id")
+})
 public class Submission {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "submissions_seq")
+    @SequenceGenerator(name = "submissions_seq", sequenceName = "submissions_seq", allocationSize = 50)
     private Long id;
 
     private String projectName;
@@ -4,10 +4,16 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "support_requests")
+@Table(name = "support_requests", indexes = {
+        @Index(name = "idx_support_requests_status", columnList = "status, id"),
+        @Index(name = "idx_support_requests_status_date", columnList = "status, request_date"),
+        @Index(name = "idx_support_requests_mentor", columnList = "mentor_id, id"),
+        @Index(name = "idx_support_requests_team", columnList = "team_id")
+})
 public class SupportRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "support_requests_seq")
+    @SequenceGenerator(name = "support_requests_seq", sequenceName = "support_requests_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -17,11 +23,11 @@ public class SupportRequest {
     private String calendarEventId; // ID dell'evento nel calendario esterno
     private LocalDateTime scheduledDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mentor_id")
     private User mentor;
 
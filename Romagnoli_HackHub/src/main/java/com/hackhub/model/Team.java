@@ -6,11 +6,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "teams")
+@Table(name = "teams", indexes = {
+        @Index(name = "idx_teams_hackathon", columnList = "hackathon_id, id"),
+        @Index(name = "idx_teams_hackathon_name", columnList = "hackathon_id, name"),
+        @Index(name = "idx_teams_creator", columnList = "creator_id")
+})
 public class Team {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teams_seq")
+    @SequenceGenerator(name = "teams_seq", sequenceName = "teams_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -254,7 +259,7 @@ public class Team {
             throw new IllegalStateException("Il team è già stato valutato");
         }
 
-        if (hackathon == null || !"IN_VALUTAZIONE".equals(hackathon.getStatus())) {
+        if (hackathon == null || hackathon.getStatus() != HackathonStatus.IN_VALUTAZIONE) {
             throw new IllegalStateException("L'hackathon non è in fase di valutazione");
         }
     }
@@ -3,15 +3,23 @@ package com.hackhub.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role", columnList = "role, id"),
+        @Index(name = "idx_users_team", columnList = "team_id, id"),
+        @Index(name = "idx_users_username", columnList = "username")
+})
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -167,6 +175,10 @@ public class User {
 
     //Ottiene il ruolo in italiano
     public String getRoleItalian() {
+        return roleItalian(role);
+    }
+
+    public static String roleItalian(String role) {
         return switch (role) {
             case "ORGANIZER" -> "Organizzatore";
             case "JUDGE" -> "Giudice";
@@ -4,10 +4,17 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "violation_reports")
+@Table(name = "violation_reports", indexes = {
+        @Index(name = "idx_violation_reports_hackathon", columnList = "hackathon_id, id"),
+        @Index(name = "idx_violation_reports_organizer", columnList = "assigned_organizer_id, id"),
+        @Index(name = "idx_violation_reports_status", columnList = "status, id"),
+        @Index(name = "idx_violation_reports_reporter", columnList = "reporter_id"),
+        @Index(name = "idx_violation_reports_team", columnList = "reported_team_id")
+})
 public class ViolationReport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "violation_reports_seq")
+    @SequenceGenerator(name = "violation_reports_seq", sequenceName = "violation_reports_seq", allocationSize = 50)
     private Long id;
 
     private String title;
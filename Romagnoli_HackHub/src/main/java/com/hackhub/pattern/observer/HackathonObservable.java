@@ -1,21 +1,67 @@
 package com.hackhub.pattern.observer;
 
 import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonStatus;
+import com.hackhub.model.ObserverJob;
+import com.hackhub.repository.HackathonRepository;
+import com.hackhub.repository.ObserverJobRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Gli eventi degli hackathon sono salvati come ObserverJob nella transazione della modifica.
+ * Dopo il commit ogni evento va sulla corsia del suo hackathon nel dispatcher; se il nodo si ferma
+ * o la corsia lo scarta, il poller lo riprende dalla tabella. Ogni evento è eseguito in una
+ * transazione che contiene le righe dell'outbox scritte dagli observer e la cancellazione dell'evento.
+ */
 @Component
 public class HackathonObservable {
 
-    private final List<HackathonObserver> observers = new ArrayList<>();
+    private final List<HackathonObserver> observers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private HackathonRepository hackathonRepository;
+
+    @Autowired
+    private ObserverJobRepository jobRepository;
+
+    @Autowired
+    private ObserverDispatcher observerDispatcher;
+
+    @Value("${app.notifications.jobs.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.notifications.jobs.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.jobs.backoff-ms:1000}")
+    private long backoffMs;
+
+    private TransactionTemplate jobTemplate;
 
     @Autowired
     public HackathonObservable(List<HackathonObserver> observerList) {
         this.observers.addAll(observerList);
     }
 
+    // Transazione propria per ogni evento, anche se chiamato dentro un'altra
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.jobTemplate = new TransactionTemplate(transactionManager);
+        this.jobTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     public void addObserver(HackathonObserver observer) {
         observers.add(observer);
     }
@@ -24,21 +70,95 @@ public class HackathonObservable {
         observers.remove(observer);
     }
 
-    public void notifyStatusChange(Hackathon hackathon, String oldStatus, String newStatus) {
-        observers.forEach(observer ->
-                observer.onStatusChange(hackathon, oldStatus, newStatus)
-        );
+    /**
+     * Cambio di stato di uno o più hackathon: un evento per hackathon, salvato nella transazione
+     * corrente ed eseguito solo se questa va a buon fine.
+     */
+    public void notifyStatusChange(List<Long> hackathonIds, HackathonStatus oldStatus, HackathonStatus newStatus) {
+        List<ObserverJob> jobs = new ArrayList<>(hackathonIds.size());
+        for (Long hackathonId : hackathonIds) {
+            jobs.add(ObserverJob.statusChanged(hackathonId, oldStatus, newStatus));
+        }
+        enqueue(jobs);
     }
 
     public void notifyJudgeAssigned(Hackathon hackathon) {
-        observers.forEach(observer ->
-                observer.onJudgeAssigned(hackathon)
-        );
+        enqueue(List.of(ObserverJob.judgeAssigned(hackathon.getId())));
     }
 
     public void notifyWinnerDeclared(Hackathon hackathon, Long winnerTeamId) {
-        observers.forEach(observer ->
-                observer.onWinnerDeclared(hackathon, winnerTeamId)
-        );
+        enqueue(List.of(ObserverJob.winnerDeclared(hackathon.getId(), winnerTeamId)));
+    }
+
+    //Righe salvate con la modifica; dopo il commit la via veloce, sulla corsia dell'hackathon
+    private void enqueue(List<ObserverJob> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        List<ObserverJob> saved = jobRepository.saveAll(jobs);
+        afterCommit(() -> {
+            for (ObserverJob job : saved) {
+                Long jobId = job.getId();
+                observerDispatcher.dispatch(job.getHackathonId(), job.describe(), () -> run(jobId));
+            }
+        });
+    }
+
+    //Eventi rimasti in tabella: nodo fermato dopo il commit, corsia piena, tentativo fallito
+    @Scheduled(fixedDelayString = "${app.notifications.jobs.poll-ms:1000}")
+    public void runPendingJobs() {
+        try {
+            List<Long> due = jobTemplate.execute(status -> jobRepository.findDueIds(LocalDateTime.now(), batchSize));
+            due.forEach(this::run);
+        } catch (RuntimeException e) {
+            System.err.println("Esecuzione degli eventi in attesa fallita: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Esegue un evento se è ancora in attesa e tocca a lui: hackathon riletto, observer chiamati ed
+     * evento cancellato nella stessa transazione. Se un observer fallisce si annulla tutto e si ritenta.
+     */
+    private void run(Long jobId) {
+        try {
+            jobTemplate.executeWithoutResult(status -> jobRepository.lockRunnable(jobId).ifPresent(job -> {
+                hackathonRepository.findById(job.getHackathonId()).ifPresent(hackathon -> {
+                    for (HackathonObserver observer : observers) {
+                        call(observer, hackathon, job);
+                    }
+                });
+                jobRepository.delete(job);
+            }));
+        } catch (RuntimeException e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            jobTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                job.recordFailure(error, maxAttempts, backoffMs << Math.min(job.getAttempts(), 10));
+                System.err.println("Evento " + job.describe() + " dell'hackathon " + job.getHackathonId()
+                        + " fallito (tentativo " + job.getAttempts() + "): " + error);
+            }));
+        }
+    }
+
+    private void call(HackathonObserver observer, Hackathon hackathon, ObserverJob job) {
+        switch (job.getEventType()) {
+            case STATUS_CHANGED -> observer.onStatusChange(hackathon, job.getOldStatus(), job.getNewStatus());
+            case JUDGE_ASSIGNED -> observer.onJudgeAssigned(hackathon);
+            case WINNER_DECLARED -> observer.onWinnerDeclared(hackathon, job.getWinnerTeamId());
+            default -> throw new IllegalStateException("Evento non gestito: " + job.getEventType());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-}
\ No newline at end of file
+}
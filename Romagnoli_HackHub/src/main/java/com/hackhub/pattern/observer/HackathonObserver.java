@@ -1,9 +1,10 @@
 package com.hackhub.pattern.observer;
 
 import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonStatus;
 
 public interface HackathonObserver {
-    void onStatusChange(Hackathon hackathon, String oldStatus, String newStatus);
+    void onStatusChange(Hackathon hackathon, HackathonStatus oldStatus, HackathonStatus newStatus);
     void onJudgeAssigned(Hackathon hackathon);
     void onWinnerDeclared(Hackathon hackathon, Long winnerTeamId);
 }
\ No newline at end of file
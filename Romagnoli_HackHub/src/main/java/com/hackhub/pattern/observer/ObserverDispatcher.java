@@ -0,0 +1,127 @@
+package com.hackhub.pattern.observer;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Esegue le notifiche degli observer fuori dal thread della richiesta.
+ * Ogni hackathon è assegnato sempre alla stessa corsia (un thread, coda limitata),
+ * quindi i suoi eventi arrivano agli observer nell'ordine in cui sono stati accodati.
+ * Con la coda piena chi accoda attende fino a offer-timeout-ms, poi l'evento è scartato
+ * dalla corsia (resta in observer_jobs e lo riprende il poller di HackathonObservable).
+ */
+@Component
+public class ObserverDispatcher {
+
+    private final List<ThreadPoolExecutor> lanes = new ArrayList<>();
+    private final long offerTimeoutMs;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLagMs = new LongAdder();
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final AtomicLong lastLagMs = new AtomicLong();
+
+    public ObserverDispatcher(@Value("${app.notifications.dispatch.lanes:4}") int laneCount,
+                              @Value("${app.notifications.dispatch.queue-capacity:1000}") int queueCapacity,
+                              @Value("${app.notifications.dispatch.offer-timeout-ms:2000}") long offerTimeoutMs) {
+        this.offerTimeoutMs = offerTimeoutMs;
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "observer-lane-" + i;
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), r -> new Thread(r, threadName),
+                    this::waitForSpace);
+            lanes.add(lane);
+        }
+    }
+
+    public void dispatch(Long hackathonId, String description, Runnable action) {
+        long enqueuedAt = System.nanoTime();
+        ThreadPoolExecutor lane = lanes.get(Math.floorMod(hackathonId.hashCode(), lanes.size()));
+        submitted.increment();
+        try {
+            lane.execute(() -> run(hackathonId, description, action, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            System.err.println("Notifica scartata (" + description + ", hackathon " + hackathonId + "): " + e.getMessage());
+        }
+    }
+
+    private void run(Long hackathonId, String description, Runnable action, long enqueuedAt) {
+        long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enqueuedAt);
+        totalLagMs.add(lag);
+        lastLagMs.set(lag);
+        maxLagMs.accumulateAndGet(lag, Math::max);
+        try {
+            action.run();
+            completed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            System.err.println("Notifica fallita (" + description + ", hackathon " + hackathonId + "): " + e.getMessage());
+        }
+    }
+
+    //Backpressure: con la corsia piena il chiamante si blocca finché si libera un posto
+    private void waitForSpace(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("dispatcher arrestato");
+        }
+        try {
+            if (!lane.getQueue().offer(task, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("coda piena da più di " + offerTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrotto in attesa di spazio in coda");
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        List<Integer> depths = new ArrayList<>();
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            int depth = lane.getQueue().size();
+            depths.add(depth);
+            queued += depth;
+        }
+        long done = completed.sum() + failed.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lanes", lanes.size());
+        stats.put("queueDepth", queued);
+        stats.put("queueDepthByLane", depths);
+        stats.put("submitted", submitted.sum());
+        stats.put("completed", completed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("lastLagMs", lastLagMs.get());
+        stats.put("maxLagMs", maxLagMs.get());
+        stats.put("avgLagMs", done == 0 ? 0.0 : (double) totalLagMs.sum() / done);
+        return stats;
+    }
+
+    //Allo spegnimento smaltisce le code già accettate
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("Notifiche non consegnate allo spegnimento: " + lane.shutdownNow().size());
+            }
+        }
+    }
+}
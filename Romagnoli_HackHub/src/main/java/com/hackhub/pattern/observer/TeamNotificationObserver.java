@@ -1,156 +1,133 @@
 package com.hackhub.pattern.observer;
 
 import com.hackhub.model.Hackathon;
-import com.hackhub.model.Team;
-import com.hackhub.model.User;
-import com.hackhub.pattern.strategy.NotificationContext;
+import com.hackhub.model.HackathonEventType;
+import com.hackhub.model.HackathonStatus;
+import com.hackhub.repository.TeamRepository;
+import com.hackhub.repository.UserRepository;
+import com.hackhub.service.MessageTemplateService;
+import com.hackhub.service.NotificationOutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Component
 public class TeamNotificationObserver implements HackathonObserver {
 
+    // Le notifiche vanno nell'outbox, nella transazione in cui l'observer è invocato
     @Autowired
-    private NotificationContext notificationContext;
+    private NotificationOutboxService notificationOutbox;
 
-    @Override
-    public void onStatusChange(Hackathon hackathon, String oldStatus, String newStatus) {
-        // Determina il messaggio in base allo stato
-        String message = getStatusChangeMessage(hackathon, oldStatus, newStatus);
-        String subject = "[" + hackathon.getName() + "] Aggiornamento stato";
-
-        // Raccogli tutti i destinatari
-        Set<User> recipients = new HashSet<>();
+    @Autowired
+    private MessageTemplateService templates;
 
-        // Aggiungi organizzatore
-        if (hackathon.getOrganizer() != null) {
-            recipients.add(hackathon.getOrganizer());
-        }
+    @Autowired
+    private UserRepository userRepository;
 
-        // Aggiungi giudice
-        if (hackathon.getJudge() != null) {
-            recipients.add(hackathon.getJudge());
-        }
+    @Autowired
+    private TeamRepository teamRepository;
 
-        // Aggiungi mentori
-        if (hackathon.getMentors() != null) {
-            recipients.addAll(hackathon.getMentors());
-        }
+    // Destinatari letti a blocchi: in memoria c'è al massimo un blocco di id, mai il grafo degli utenti
+    @Value("${app.notifications.audience-chunk-size:500}")
+    private int chunkSize;
 
-        // Aggiungi membri dei team
-        if (hackathon.getTeams() != null) {
-            for (Team team : hackathon.getTeams()) {
-                if (team.getMembers() != null) {
-                    recipients.addAll(team.getMembers());
-                }
+    @Override
+    public void onStatusChange(Hackathon hackathon, HackathonStatus oldStatus, HackathonStatus newStatus) {
+        // Un solo messaggio per tutti i destinatari, dal template dello stato
+        Locale locale = templates.getDefaultLocale();
+        String fullMessage = templates.render("status.changed", locale, Map.of(
+                "hackathon", hackathon.getName(),
+                "status", templates.text("status." + newStatus.name(), locale),
+                "nextSteps", templates.text("steps." + newStatus.name(), locale)));
+
+        // Cambi ravvicinati dello stesso hackathon si riducono all'ultimo
+        String key = NotificationOutboxService.coalesceKey(hackathon.getId(), HackathonEventType.STATUS_CHANGED);
+
+        // Organizzatore, giudice, mentor e membri dei team, ognuno una volta, con il canale già deciso dalla query
+        long total = 0;
+        Long afterId = 0L;
+        List<UserRepository.AudienceMember> chunk;
+        do {
+            chunk = userRepository.findHackathonAudience(hackathon.getId(), afterId, PageRequest.of(0, chunkSize));
+            Map<String, List<Long>> byChannel = new LinkedHashMap<>();
+            for (UserRepository.AudienceMember member : chunk) {
+                byChannel.computeIfAbsent(member.getChannel(), c -> new ArrayList<>()).add(member.getUserId());
             }
-        }
+            // Una chiamata per canale e per blocco
+            byChannel.forEach((channel, ids) -> notificationOutbox.enqueueCoalesced(channel, fullMessage, ids, key));
 
-        // Invia notifiche
-        String fullMessage = subject + "\n\n" + message;
-        for (User recipient : recipients) {
-            // Invia email per organizzatore e giudice, in-app per gli altri
-            if (recipient.equals(hackathon.getOrganizer()) || recipient.equals(hackathon.getJudge())) {
-                notificationContext.sendNotification("EMAIL", fullMessage, recipient);
-            } else {
-                notificationContext.sendNotification("IN_APP", fullMessage, recipient);
+            total += chunk.size();
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getUserId();
             }
-        }
+        } while (chunk.size() == chunkSize);
 
-        System.out.println("Notificato cambio stato a " + recipients.size() + " utenti");
-    }
-
-    private String getStatusChangeMessage(Hackathon hackathon, String oldStatus, String newStatus) {
-        String statusItalian = switch (newStatus) {
-            case "INSCRIZIONE" -> "aperto alle iscrizioni";
-            case "IN_CORSO" -> "in corso";
-            case "IN_VALUTAZIONE" -> "in fase di valutazione";
-            case "CONCLUSO" -> "concluso";
-            default -> newStatus;
-        };
-
-        return String.format(
-                "Ciao!\n\n" +
-                        "L'hackathon '%s' è ora %s.\n\n" +
-                        "Cosa puoi fare ora:\n%s\n\n" +
-                        "Accedi alla piattaforma per maggiori dettagli.\n\n" +
-                        "HackHub Team",
-                hackathon.getName(),
-                statusItalian,
-                getNextSteps(newStatus)
-        );
-    }
-
-    private String getNextSteps(String status) {
-        return switch (status) {
-            case "INSCRIZIONE" -> "• I team possono registrarsi\n• I mentori possono prendere visione dei team";
-            case "IN_CORSO" -> "• I team possono lavorare ai progetti\n• I mentori possono supportare i team\n• Le sottomissioni sono aperte";
-            case "IN_VALUTAZIONE" -> "• I giudici valutano i progetti\n• I team attendono i risultati";
-            case "CONCLUSO" -> "• I vincitori vengono proclamati\n• I premi vengono erogati";
-            default -> "• Controlla la piattaforma per aggiornamenti";
-        };
+        System.out.println("Accodate notifiche di cambio stato per " + total + " utenti");
     }
 
     @Override
     public void onJudgeAssigned(Hackathon hackathon) {
         if (hackathon.getJudge() == null) return;
 
-        String message = String.format(
-                "Sei stato assegnato come giudice per l'hackathon '%s'.\n\n" +
-                        "Quando l'hackathon entrerà in fase di valutazione, potrai:\n" +
-                        "• Visualizzare tutte le sottomissioni\n" +
-                        "• Assegnare un punteggio (0-10) a ciascun progetto\n" +
-                        "• Lasciare un feedback scritto\n\n" +
-                        "Grazie per la tua disponibilità!",
-                hackathon.getName()
-        );
-
-        notificationContext.sendNotification("EMAIL", message, hackathon.getJudge());
+        String message = templates.render("judge.assigned", Map.of("hackathon", hackathon.getName()));
+
+        notificationOutbox.enqueueCoalesced("EMAIL", message, List.of(hackathon.getJudge().getId()),
+                NotificationOutboxService.coalesceKey(hackathon.getId(), HackathonEventType.JUDGE_ASSIGNED));
     }
 
     @Override
     public void onWinnerDeclared(Hackathon hackathon, Long winnerTeamId) {
-        if (hackathon.getTeams() == null) return;
-
-        // Trova il team vincitore
-        Team winnerTeam = hackathon.getTeams().stream()
-                .filter(t -> t.getId().equals(winnerTeamId))
-                .findFirst()
-                .orElse(null);
-
-        for (Team team : hackathon.getTeams()) {
-            boolean isWinner = team.getId().equals(winnerTeamId);
-            String message;
-
-            if (isWinner) {
-                message = String.format(
-                        "CONGRATULAZIONI! Il tuo team '%s' ha vinto l'hackathon '%s'!\n\n" +
-                                "Il premio di €%s verrà erogato al team leader.\n\n" +
-                                "Siamo orgogliosi del vostro lavoro! Continuate così!",
-                        team.getName(),
-                        hackathon.getName(),
-                        hackathon.getPrizeMoney() != null ? hackathon.getPrizeMoney() : "0"
-                );
-            } else {
-                message = String.format(
-                        "Grazie per aver partecipato all'hackathon '%s' con il team '%s'.\n\n" +
-                                "Il team vincitore è: %s\n\n" +
-                                "Non mollare! Ci vediamo al prossimo hackathon!",
-                        hackathon.getName(),
-                        team.getName(),
-                        winnerTeam != null ? winnerTeam.getName() : "Team " + winnerTeamId
-                );
+        // Solo id e nomi dei team: i membri arrivano a blocchi dalla query
+        Map<Long, String> teamNames = new HashMap<>();
+        for (TeamRepository.TeamNameView team : teamRepository.findNamesByHackathonId(hackathon.getId())) {
+            teamNames.put(team.getId(), team.getName());
+        }
+        if (teamNames.isEmpty()) return;
+
+        String winnerName = teamNames.containsKey(winnerTeamId)
+                ? teamNames.get(winnerTeamId)
+                : templates.render("winner.unknownTeam", Map.of("teamId", String.valueOf(winnerTeamId)));
+        String key = NotificationOutboxService.coalesceKey(hackathon.getId(), HackathonEventType.WINNER_DECLARED);
+
+        // Il testo dipende dal team, non dal singolo membro: uno per team
+        Map<Long, String> messages = new HashMap<>();
+        Long afterId = 0L;
+        List<UserRepository.TeamAudienceMember> chunk;
+        do {
+            chunk = userRepository.findTeamAudience(hackathon.getId(), afterId, PageRequest.of(0, chunkSize));
+            Map<Long, List<Long>> byTeam = new LinkedHashMap<>();
+            for (UserRepository.TeamAudienceMember member : chunk) {
+                byTeam.computeIfAbsent(member.getTeamId(), t -> new ArrayList<>()).add(member.getUserId());
             }
-
-            // Invia a tutti i membri del team
-            if (team.getMembers() != null) {
-                for (User member : team.getMembers()) {
-                    notificationContext.sendNotification("EMAIL", message, member);
-                }
+            byTeam.forEach((teamId, ids) -> {
+                String message = messages.computeIfAbsent(teamId,
+                        t -> winnerMessage(hackathon, teamNames.get(t), t.equals(winnerTeamId), winnerName));
+                notificationOutbox.enqueueCoalesced("EMAIL", message, ids, key);
+            });
+
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getUserId();
             }
-        }
+        } while (chunk.size() == chunkSize);
+    }
+
+    private String winnerMessage(Hackathon hackathon, String teamName, boolean isWinner, String winnerName) {
+        return isWinner
+                ? templates.render("winner.team", Map.of(
+                        "team", teamName,
+                        "hackathon", hackathon.getName(),
+                        "prize", hackathon.getPrizeMoney() != null ? hackathon.getPrizeMoney() : "0"))
+                : templates.render("winner.other", Map.of(
+                        "hackathon", hackathon.getName(),
+                        "team", teamName,
+                        "winner", winnerName));
     }
 }
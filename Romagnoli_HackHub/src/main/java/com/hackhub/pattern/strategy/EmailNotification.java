@@ -1,11 +1,19 @@
 package com.hackhub.pattern.strategy;
 
 import com.hackhub.model.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Component
 public class EmailNotification implements NotificationStrategy {
 
+    // Destinatari massimi per singolo invio (in copia nascosta)
+    @Value("${app.notifications.email.max-recipients-per-send:50}")
+    private int maxRecipientsPerSend;
+
     @Override
     public void sendNotification(String message, User recipient) {
         // Simulazione invio email
@@ -13,6 +21,27 @@ public class EmailNotification implements NotificationStrategy {
         // In produzione, qui integreresti un servizio email reale
     }
 
+    //Un solo invio per gruppo di destinatari invece di un'email per utente
+    @Override
+    public void sendNotifications(String message, Collection<User> recipients) {
+        List<String> group = new ArrayList<>(Math.min(recipients.size(), maxRecipientsPerSend));
+        for (User recipient : recipients) {
+            group.add(recipient.getEmail());
+            if (group.size() == maxRecipientsPerSend) {
+                sendGroup(message, group);
+                group.clear();
+            }
+        }
+        if (!group.isEmpty()) {
+            sendGroup(message, group);
+        }
+    }
+
+    private void sendGroup(String message, List<String> addresses) {
+        // Simulazione invio email con più destinatari in Bcc
+        System.out.println("📧 Invio email a " + addresses.size() + " destinatari " + addresses + ": " + message);
+    }
+
     @Override
     public String getType() {
         return "EMAIL";
@@ -1,16 +1,29 @@
 package com.hackhub.pattern.strategy;
 
 import com.hackhub.model.User;
+import com.hackhub.service.InboxService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.List;
 
 @Component
 public class InAppNotification implements NotificationStrategy {
 
+    @Autowired
+    private InboxService inboxService;
+
     @Override
     public void sendNotification(String message, User recipient) {
-        // Simulazione notifica in-app
-        System.out.println("🔔 Notifica in-app per " + recipient.getUsername() + ": " + message);
-        // In produzione, qui salveresti la notifica nel DB
+        // Notifica nell'inbox dell'utente
+        inboxService.deliver(message, List.of(recipient));
+    }
+
+    //Tutte le notifiche del gruppo in un'unica scrittura
+    @Override
+    public void sendNotifications(String message, Collection<User> recipients) {
+        inboxService.deliver(message, recipients);
+        System.out.println("🔔 Notifica in-app per " + recipients.size() + " utenti");
     }
 
     @Override
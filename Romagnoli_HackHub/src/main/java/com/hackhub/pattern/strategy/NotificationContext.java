@@ -3,31 +3,39 @@ package com.hackhub.pattern.strategy;
 import com.hackhub.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class NotificationContext {
 
-    private final Map<String, NotificationStrategy> strategies;
+    // Strategie indicizzate per tipo (EMAIL, IN_APP), risolte una volta sola all'avvio
+    private final Map<String, NotificationStrategy> strategies = new HashMap<>();
+    private final NotificationStrategy defaultStrategy;
 
     @Autowired
-    public NotificationContext(Map<String, NotificationStrategy> strategies) {
-        this.strategies = strategies;
+    public NotificationContext(List<NotificationStrategy> strategyList) {
+        for (NotificationStrategy strategy : strategyList) {
+            strategies.put(strategy.getType(), strategy);
+        }
+        // Default a email
+        this.defaultStrategy = strategies.get("EMAIL");
     }
 
     public void sendNotification(String type, String message, User recipient) {
-        NotificationStrategy strategy = strategies.get(type.toLowerCase() + "Notification");
-        if (strategy != null) {
-            strategy.sendNotification(message, recipient);
-        } else {
-            // Default a email
-            strategies.get("emailNotification").sendNotification(message, recipient);
-        }
+        strategyFor(type).sendNotification(message, recipient);
     }
 
-    public void sendToAll(String type, String message, Iterable<User> recipients) {
-        for (User recipient : recipients) {
-            sendNotification(type, message, recipient);
+    public void sendToAll(String type, String message, Collection<User> recipients) {
+        if (!recipients.isEmpty()) {
+            strategyFor(type).sendNotifications(message, recipients);
         }
     }
+
+    private NotificationStrategy strategyFor(String type) {
+        NotificationStrategy strategy = type != null ? strategies.get(type.toUpperCase()) : null;
+        return strategy != null ? strategy : defaultStrategy;
+    }
 }
\ No newline at end of file
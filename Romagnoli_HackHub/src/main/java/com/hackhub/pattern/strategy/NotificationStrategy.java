@@ -1,8 +1,16 @@
 package com.hackhub.pattern.strategy;
 
 import com.hackhub.model.User;
+import java.util.Collection;
 
 public interface NotificationStrategy {
     void sendNotification(String message, User recipient);
     String getType();
+
+    //Stesso messaggio a più destinatari; le strategie che sanno raggrupparli la ridefiniscono
+    default void sendNotifications(String message, Collection<User> recipients) {
+        for (User recipient : recipients) {
+            sendNotification(message, recipient);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.HackathonEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface HackathonEventRepository extends JpaRepository<HackathonEvent, Long> {
+
+    // Eventi successivi a uno snapshot, in ordine di applicazione (indice hackathon_id, version)
+    List<HackathonEvent> findByHackathonIdAndVersionGreaterThanOrderByVersionAsc(Long hackathonId, long afterVersion);
+
+    // Pagina del journal a partire dal cursore (una versione)
+    List<HackathonEvent> findByHackathonIdAndVersionGreaterThanOrderByVersionAsc(Long hackathonId, long afterVersion,
+                                                                                Pageable pageable);
+
+    // Hackathon con almeno :threshold eventi dopo l'ultimo snapshot, dalle sole righe di testa
+    @Query("SELECT h.hackathonId FROM HackathonJournalHead h LEFT JOIN HackathonSnapshot s ON s.hackathonId = h.hackathonId " +
+            "WHERE h.version - COALESCE(s.lastVersion, 0) >= :threshold")
+    List<Long> findHackathonIdsNeedingSnapshot(long threshold);
+}
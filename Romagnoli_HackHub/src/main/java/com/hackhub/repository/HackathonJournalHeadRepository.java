@@ -0,0 +1,24 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.HackathonJournalHead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HackathonJournalHeadRepository extends JpaRepository<HackathonJournalHead, Long> {
+
+    // Riserva count versioni: la riga resta bloccata fino al commit, chi scrive dopo attende
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE HackathonJournalHead h SET h.version = h.version + :count WHERE h.hackathonId = :hackathonId")
+    int advance(Long hackathonId, long count);
+
+    @Query("SELECT h.version FROM HackathonJournalHead h WHERE h.hackathonId = :hackathonId")
+    long findVersion(Long hackathonId);
+
+    // Teste di più journal, per sapere quali topic live hanno eventi nuovi
+    List<HackathonJournalHead> findByHackathonIdIn(Collection<Long> hackathonIds);
+}
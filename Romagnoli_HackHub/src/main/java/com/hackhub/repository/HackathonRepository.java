@@ -1,12 +1,130 @@
 package com.hackhub.repository;
 
+import com.hackhub.dto.HackathonResponse;
 import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HackathonRepository extends JpaRepository<Hackathon, Long> {
-    List<Hackathon> findByStatus(String status);
+
+    // Prefisso per gli stati come letterali JPQL (convertiti nel codice della colonna)
+    String STATUS = "com.hackhub.model.HackathonStatus.";
+
+    String RESPONSE_SELECT = "SELECT new com.hackhub.dto.HackathonResponse(h.id, h.name, h.description, h.rules, " +
+            "h.registrationDeadline, h.startDate, h.endDate, h.status, h.maxTeamSize, h.prizeMoney, h.winnerTeamId) " +
+            "FROM Hackathon h ";
+
+    List<Hackathon> findByStatus(HackathonStatus status);
     List<Hackathon> findByOrganizerId(Long organizerId); // Aggiungi questo metodo
-}
\ No newline at end of file
+
+    // ========== FETCH PLAN ==========
+
+    // Hackathon con organizzatore, giudice e mentori
+    @EntityGraph(attributePaths = {"organizer", "judge", "mentors"})
+    Optional<Hackathon> findWithStaffById(Long id);
+
+    // Carica i team sull'istanza già presente nel contesto (seconda query, evita il prodotto cartesiano)
+    @EntityGraph(attributePaths = {"teams"})
+    Optional<Hackathon> findWithTeamsById(Long id);
+
+    // Elenco hackathon con organizzatore e team, per le pagine di elenco
+    @EntityGraph(attributePaths = {"organizer", "teams"})
+    @Query("SELECT h FROM Hackathon h")
+    List<Hackathon> findAllWithOrganizerAndTeams();
+
+    // ========== KEYSET PAGINATION ==========
+
+    @EntityGraph(attributePaths = {"organizer"})
+    List<Hackathon> findWithOrganizerByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // Inizializza i team di una pagina già caricata (il fetch di collezioni non si combina con il limite)
+    @EntityGraph(attributePaths = {"teams"})
+    List<Hackathon> findWithTeamsByIdIn(Collection<Long> ids);
+
+    // ========== PROIEZIONI DTO ==========
+
+    @Query(RESPONSE_SELECT + "WHERE h.id > :afterId ORDER BY h.id")
+    List<HackathonResponse> findResponsesAfter(Long afterId, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE h.status = :status ORDER BY h.id")
+    List<HackathonResponse> findResponsesByStatus(HackathonStatus status);
+
+    @Query(RESPONSE_SELECT + "WHERE h.organizer.id = :organizerId ORDER BY h.id")
+    List<HackathonResponse> findResponsesByOrganizerId(Long organizerId);
+
+    // Conteggio raggruppato per stato, senza caricare le entità
+    @Query("SELECT h.status AS status, COUNT(h) AS total FROM Hackathon h GROUP BY h.status")
+    List<StatusCount> countGroupByStatus();
+
+    // Righe leggere per la tabella hackathon della dashboard
+    @Query("SELECT h.id AS id, h.name AS name, h.description AS description, h.status AS status, " +
+            "h.registrationDeadline AS registrationDeadline FROM Hackathon h ORDER BY h.id")
+    List<DashboardRow> findDashboardRows();
+
+    // Scadenze ancora da raggiungere, servite dagli indici (status, registration_deadline) e (status, end_date)
+    @Query("SELECT h.id AS id, h.registrationDeadline AS deadline FROM Hackathon h WHERE h.status = " + STATUS + "INSCRIZIONE")
+    List<DeadlineRow> findRegistrationDeadlines();
+
+    @Query("SELECT h.id AS id, h.endDate AS deadline FROM Hackathon h WHERE h.status = " + STATUS + "IN_CORSO")
+    List<DeadlineRow> findEndDeadlines();
+
+    // Hackathon in valutazione con team e nessun progetto in attesa, dai contatori di HackathonStats
+    @Query("SELECT h FROM Hackathon h JOIN HackathonStats s ON s.hackathonId = h.id " +
+            "WHERE h.status = " + STATUS + "IN_VALUTAZIONE AND s.pendingEvaluations = 0 AND s.teamCount > 0")
+    List<Hackathon> findReadyToConclude();
+
+    @Query("SELECT h.id AS id, h.endDate AS deadline FROM Hackathon h WHERE h.id IN :ids")
+    List<DeadlineRow> findEndDeadlinesByIdIn(Collection<Long> ids);
+
+    // ========== TRANSIZIONI IN BLOCCO ==========
+    // Gli id scaduti vengono letti con lock (SELECT ... FOR UPDATE) e poi aggiornati con un solo UPDATE
+    // condizionale: insieme equivalgono a un UPDATE ... RETURNING id, che H2 via JPQL non offre.
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h.id FROM Hackathon h WHERE h.status = " + STATUS + "INSCRIZIONE AND h.registrationDeadline < :now")
+    List<Long> lockIdsWithRegistrationClosed(LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h.id FROM Hackathon h WHERE h.status = " + STATUS + "IN_CORSO AND h.endDate < :now")
+    List<Long> lockIdsWithEndPassed(LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Hackathon h SET h.status = :newStatus WHERE h.id IN :ids AND h.status = :oldStatus")
+    int updateStatusByIdIn(Collection<Long> ids, HackathonStatus oldStatus, HackathonStatus newStatus);
+
+    // Compare-and-set su un singolo hackathon: 0 righe se lo stato è cambiato nel frattempo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Hackathon h SET h.status = :newStatus, h.winnerTeamId = :winnerTeamId " +
+            "WHERE h.id = :id AND h.status = :expectedStatus")
+    int compareAndSetStatus(Long id, HackathonStatus expectedStatus, HackathonStatus newStatus, Long winnerTeamId);
+
+    interface StatusCount {
+        HackathonStatus getStatus();
+        Long getTotal();
+    }
+
+    interface DeadlineRow {
+        Long getId();
+        LocalDateTime getDeadline();
+    }
+
+    interface DashboardRow {
+        Long getId();
+        String getName();
+        String getDescription();
+        HackathonStatus getStatus();
+        LocalDateTime getRegistrationDeadline();
+    }
+}
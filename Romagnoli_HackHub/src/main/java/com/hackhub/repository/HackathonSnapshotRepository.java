@@ -0,0 +1,9 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.HackathonSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HackathonSnapshotRepository extends JpaRepository<HackathonSnapshot, Long> {
+}
@@ -0,0 +1,77 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.HackathonStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HackathonStatsRepository extends JpaRepository<HackathonStats, Long> {
+
+    String SUBMITTED = "t.projectName IS NOT NULL AND TRIM(t.projectName) <> ''";
+
+    // ========== AGGIORNAMENTI ATOMICI ==========
+    // Incrementi eseguiti dal database: nessuna lettura-modifica-scrittura in memoria
+
+    @Modifying
+    @Query("UPDATE HackathonStats s SET s.teamCount = s.teamCount + :delta WHERE s.hackathonId = :hackathonId")
+    int addTeams(Long hackathonId, int delta);
+
+    @Modifying
+    @Query("UPDATE HackathonStats s SET s.submittedCount = s.submittedCount + 1, " +
+            "s.pendingEvaluations = s.pendingEvaluations + :pending WHERE s.hackathonId = :hackathonId")
+    int addSubmission(Long hackathonId, int pending);
+
+    // SQL nativo: in JPQL Hibernate aggiunge al parametro un cast a float che H2 non accetta.
+    // Senza query space dichiarato Hibernate svuoterebbe tutta la cache di secondo livello
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "hackathon_stats"))
+    @Query(value = "UPDATE hackathon_stats SET evaluated_count = evaluated_count + 1, " +
+            "pending_evaluations = pending_evaluations - :pending, score_sum = score_sum + :score, " +
+            "score_min = CASE WHEN score_min IS NULL OR score_min > :score THEN :score ELSE score_min END, " +
+            "score_max = CASE WHEN score_max IS NULL OR score_max < :score THEN :score ELSE score_max END " +
+            "WHERE hackathon_id = :hackathonId", nativeQuery = true)
+    int addEvaluation(Long hackathonId, double score, int pending);
+
+    String TEAMS_OF = "FROM Team t WHERE t.hackathon.id = s.hackathonId";
+
+    /**
+     * Ricalcolo completo dai team, per i casi non incrementali (rivalutazione, eliminazione), in un solo
+     * UPDATE: la riga è bloccata dall'istruzione stessa, quindi un incremento concorrente o attende il
+     * commit e si somma al ricalcolo, o è già nei team letti. Nessun valore letto prima viene riscritto.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE HackathonStats s SET " +
+            "s.teamCount = (SELECT COUNT(t) " + TEAMS_OF + "), " +
+            "s.submittedCount = (SELECT COUNT(t) " + TEAMS_OF + " AND " + SUBMITTED + "), " +
+            "s.evaluatedCount = (SELECT COUNT(t) " + TEAMS_OF + " AND t.score IS NOT NULL), " +
+            "s.pendingEvaluations = (SELECT COUNT(t) " + TEAMS_OF + " AND " + SUBMITTED + " AND t.score IS NULL), " +
+            "s.scoreSum = (SELECT COALESCE(SUM(t.score), 0) " + TEAMS_OF + "), " +
+            "s.scoreMin = (SELECT MIN(t.score) " + TEAMS_OF + "), " +
+            "s.scoreMax = (SELECT MAX(t.score) " + TEAMS_OF + ") " +
+            "WHERE s.hackathonId = :hackathonId")
+    int recompute(Long hackathonId);
+
+    // Aggregato dai team, per gli hackathon senza riga
+    @Query("SELECT COUNT(t) AS teamCount, " +
+            "SUM(CASE WHEN " + SUBMITTED + " THEN 1 ELSE 0 END) AS submittedCount, " +
+            "SUM(CASE WHEN t.score IS NOT NULL THEN 1 ELSE 0 END) AS evaluatedCount, " +
+            "SUM(CASE WHEN " + SUBMITTED + " AND t.score IS NULL THEN 1 ELSE 0 END) AS pendingEvaluations, " +
+            "SUM(t.score) AS scoreSum, MIN(t.score) AS scoreMin, MAX(t.score) AS scoreMax " +
+            "FROM Team t WHERE t.hackathon.id = :hackathonId")
+    TeamAggregate aggregateTeams(Long hackathonId);
+
+    interface TeamAggregate {
+        Long getTeamCount();
+        Long getSubmittedCount();
+        Long getEvaluatedCount();
+        Long getPendingEvaluations();
+        Double getScoreSum();
+        Double getScoreMin();
+        Double getScoreMax();
+    }
+}
@@ -0,0 +1,51 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.InboxCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InboxCursorRepository extends JpaRepository<InboxCursor, Long> {
+
+    String POSITION_SELECT = "SELECT c.userId AS userId, c.lastSeq AS lastSeq, c.ackedSeq AS ackedSeq, " +
+            "c.changedAt AS changedAt FROM InboxCursor c ";
+
+    interface Position {
+        Long getUserId();
+        long getLastSeq();
+        long getAckedSeq();
+        LocalDateTime getChangedAt();
+    }
+
+    // Riserva count posizioni nell'inbox di ogni utente: le righe restano bloccate fino al commit
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InboxCursor c SET c.lastSeq = c.lastSeq + :count, c.changedAt = local datetime " +
+            "WHERE c.userId IN :userIds")
+    int advance(Collection<Long> userIds, long count);
+
+    // La soglia può solo avanzare e non oltre l'ultima notifica consegnata
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InboxCursor c SET c.ackedSeq = CASE WHEN c.lastSeq < :upToSeq THEN c.lastSeq ELSE :upToSeq END, " +
+            "c.ackedAt = local datetime, c.changedAt = local datetime " +
+            "WHERE c.userId = :userId AND c.ackedSeq < :upToSeq AND c.ackedSeq < c.lastSeq")
+    int acknowledge(Long userId, long upToSeq);
+
+    @Query(POSITION_SELECT + "WHERE c.userId IN :userIds")
+    List<Position> findPositions(Collection<Long> userIds);
+
+    // Utenti con almeno una notifica non letta, per i contatori caricati all'avvio
+    @Query(POSITION_SELECT + "WHERE c.lastSeq > c.ackedSeq")
+    List<Position> findWithUnread();
+
+    // Posizioni cambiate da un certo momento (orologio del database), anche su altri nodi
+    @Query(POSITION_SELECT + "WHERE c.changedAt > :since")
+    List<Position> findChangedSince(LocalDateTime since);
+
+    @Query("SELECT MAX(c.changedAt) FROM InboxCursor c")
+    LocalDateTime findLastChange();
+}
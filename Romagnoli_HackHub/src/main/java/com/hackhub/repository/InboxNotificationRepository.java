@@ -0,0 +1,19 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.InboxNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface InboxNotificationRepository extends JpaRepository<InboxNotification, Long> {
+
+    // Notifiche più recenti, per riempire il buffer in memoria
+    List<InboxNotification> findByUserIdOrderBySeqDesc(Long userId, Pageable pageable);
+
+    List<InboxNotification> findByUserIdAndSeqGreaterThanOrderBySeqDesc(Long userId, long ackedSeq, Pageable pageable);
+
+    // Notifiche dopo una posizione in ordine di consegna, per lo stream live
+    List<InboxNotification> findByUserIdAndSeqGreaterThanOrderBySeqAsc(Long userId, long afterSeq, Pageable pageable);
+}
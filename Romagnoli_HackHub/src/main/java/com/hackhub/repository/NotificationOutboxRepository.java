@@ -0,0 +1,57 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.NotificationOutbox;
+import com.hackhub.model.NotificationOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    interface StatusCount {
+        NotificationOutboxStatus getStatus();
+        long getCount();
+    }
+
+    /**
+     * Righe da consegnare, bloccate fino al commit. SKIP LOCKED salta quelle già prese
+     * da un altro dispatcher invece di attenderle, così più nodi lavorano in parallelo.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> lockDue(LocalDateTime now, int limit);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = com.hackhub.model.NotificationOutboxStatus.SENT, " +
+            "o.attempts = o.attempts + 1, o.sentAt = :sentAt, o.lastError = NULL WHERE o.id IN :ids")
+    int markSent(Collection<Long> ids, LocalDateTime sentAt);
+
+    // Notifiche ancora da consegnare rese superate da una più recente con la stessa chiave
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = com.hackhub.model.NotificationOutboxStatus.SUPERSEDED " +
+            "WHERE o.coalesceKey = :coalesceKey AND o.recipientId IN :recipientIds " +
+            "AND o.status = com.hackhub.model.NotificationOutboxStatus.PENDING")
+    int supersede(String coalesceKey, Collection<Long> recipientIds);
+
+    // Consegnate e superate non servono più dopo il periodo di conservazione
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o " +
+            "WHERE (o.status = com.hackhub.model.NotificationOutboxStatus.SENT AND o.sentAt < :before) " +
+            "OR (o.status = com.hackhub.model.NotificationOutboxStatus.SUPERSEDED AND o.createdAt < :before)")
+    int deleteCompletedBefore(LocalDateTime before);
+
+    List<NotificationOutbox> findByStatusAndIdGreaterThanOrderByIdAsc(NotificationOutboxStatus status, Long afterId, Pageable pageable);
+
+    @Query("SELECT o.status AS status, COUNT(o) AS count FROM NotificationOutbox o GROUP BY o.status")
+    List<StatusCount> countByStatus();
+
+    @Query("SELECT MIN(o.createdAt) FROM NotificationOutbox o " +
+            "WHERE o.status = com.hackhub.model.NotificationOutboxStatus.PENDING")
+    LocalDateTime findOldestPendingCreatedAt();
+}
@@ -0,0 +1,28 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.ObserverJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ObserverJobRepository extends JpaRepository<ObserverJob, Long> {
+
+    // Lavori scaduti, solo il più vecchio in attesa di ogni hackathon: gli eventi restano in ordine
+    @Query(value = "SELECT j.id FROM observer_jobs j WHERE j.status = 'PENDING' AND j.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM observer_jobs p WHERE p.hackathon_id = j.hackathon_id " +
+            "AND p.status = 'PENDING' AND p.id < j.id) ORDER BY j.id LIMIT :limit", nativeQuery = true)
+    List<Long> findDueIds(LocalDateTime now, int limit);
+
+    /**
+     * Blocca il lavoro fino al commit, se è ancora in attesa e nessun evento precedente dello stesso
+     * hackathon lo è. SKIP LOCKED: se lo sta già eseguendo un altro thread (o nodo) non lo si attende.
+     */
+    @Query(value = "SELECT * FROM observer_jobs j WHERE j.id = :id AND j.status = 'PENDING' " +
+            "AND NOT EXISTS (SELECT 1 FROM observer_jobs p WHERE p.hackathon_id = j.hackathon_id " +
+            "AND p.status = 'PENDING' AND p.id < j.id) FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<ObserverJob> lockRunnable(Long id);
+}
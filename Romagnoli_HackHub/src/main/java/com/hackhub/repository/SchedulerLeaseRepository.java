@@ -0,0 +1,37 @@
+package com.hackhub.repository;
+
+import com.hackhub.model.SchedulerLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Scadenze calcolate con l'orologio del database, l'unico comune a tutti i nodi
+
+    // Rinnovo da parte del proprietario, finché il lease non è scaduto: il token non cambia
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = local datetime + :ttlSeconds second " +
+            "WHERE l.name = :name AND l.owner = :owner AND l.expiresAt > local datetime")
+    int renew(String name, String owner, long ttlSeconds);
+
+    // Presa di un lease libero o scaduto: nuovo proprietario e nuovo token
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.fencingToken = l.fencingToken + 1, " +
+            "l.expiresAt = local datetime + :ttlSeconds second " +
+            "WHERE l.name = :name AND (l.owner IS NULL OR l.expiresAt IS NULL OR l.expiresAt <= local datetime)")
+    int takeOver(String name, String owner, long ttlSeconds);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = NULL, l.expiresAt = NULL WHERE l.name = :name AND l.owner = :owner")
+    int release(String name, String owner);
+
+    // Verifica di fencing: il lock sulla riga blocca una presa concorrente fino al commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<SchedulerLease> findLockedByNameAndOwnerAndFencingToken(String name, String owner, long fencingToken);
+}
@@ -1,14 +1,57 @@
 package com.hackhub.repository;
 
+import com.hackhub.dto.SupportRequestResponse;
 import com.hackhub.model.SupportRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SupportRequestRepository extends JpaRepository<SupportRequest, Long> {
+
+    String RESPONSE_SELECT = "SELECT new com.hackhub.dto.SupportRequestResponse(r.id, r.title, r.description, " +
+            "r.requestDate, r.status, r.calendarEventId, r.scheduledDate, t.id, t.name, m.id, m.username) " +
+            "FROM SupportRequest r LEFT JOIN r.team t LEFT JOIN r.mentor m ";
+
+    // Richiesta con team (e relativi membri) e mentore
+    @Override
+    @EntityGraph(attributePaths = {"team", "team.members", "mentor"})
+    Optional<SupportRequest> findById(Long id);
+
     List<SupportRequest> findByTeamId(Long teamId);
+
+    @EntityGraph(attributePaths = {"team", "mentor"})
     List<SupportRequest> findByMentorId(Long mentorId);
     List<SupportRequest> findByStatus(String status);
+    // JOIN esplicita: il piano parte dai team dell'hackathon (indice hackathon_id), non da tutte le richieste
+    @Query("SELECT r FROM SupportRequest r JOIN r.team t WHERE t.hackathon.id = :hackathonId")
     List<SupportRequest> findByTeamHackathonId(Long hackathonId);
-}
\ No newline at end of file
+    long countByStatus(String status);
+
+    // ========== KEYSET PAGINATION ==========
+
+    @EntityGraph(attributePaths = {"team", "team.hackathon", "mentor"})
+    List<SupportRequest> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long afterId, Pageable pageable);
+
+    // ========== PROIEZIONI DTO ==========
+
+    @Query(RESPONSE_SELECT + "WHERE m.id = :mentorId AND r.id > :afterId ORDER BY r.id")
+    List<SupportRequestResponse> findResponsesByMentorIdAfter(Long mentorId, Long afterId, Pageable pageable);
+
+    // Richieste più recenti in un certo stato, con il creatore del team, per il feed attività
+    @Query("SELECT r.title AS title, r.requestDate AS requestDate, c.username AS creatorName " +
+            "FROM SupportRequest r LEFT JOIN r.team t LEFT JOIN t.creator c " +
+            "WHERE r.status = :status ORDER BY r.requestDate DESC")
+    List<RequestActivity> findRecentByStatus(String status, Pageable pageable);
+
+    interface RequestActivity {
+        String getTitle();
+        LocalDateTime getRequestDate();
+        String getCreatorName();
+    }
+}
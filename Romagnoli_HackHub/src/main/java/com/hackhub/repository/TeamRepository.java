@@ -1,12 +1,113 @@
 package com.hackhub.repository;
 
+import com.hackhub.dto.TeamResponse;
 import com.hackhub.model.Team;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    String RESPONSE_SELECT = "SELECT new com.hackhub.dto.TeamResponse(t.id, t.name, t.projectName, " +
+            "t.projectDescription, t.repositoryUrl, t.score, t.judgeFeedback, h.maxTeamSize, SIZE(t.members)) " +
+            "FROM Team t JOIN t.hackathon h ";
+
     List<Team> findByHackathonId(Long hackathonId);
     List<Team> findByCreatorId(Long creatorId);
-}
\ No newline at end of file
+
+    // ========== FETCH PLAN ==========
+
+    // Team con hackathon, creatore e membri
+    @EntityGraph(attributePaths = {"hackathon", "creator", "members"})
+    Optional<Team> findDetailById(Long id);
+
+    @EntityGraph(attributePaths = {"hackathon", "creator", "members"})
+    List<Team> findWithMembersByHackathonId(Long hackathonId);
+
+    @EntityGraph(attributePaths = {"hackathon", "creator", "members"})
+    @Query("SELECT t FROM Team t")
+    List<Team> findAllWithMembers();
+
+    // ========== KEYSET PAGINATION ==========
+
+    @EntityGraph(attributePaths = {"hackathon", "creator"})
+    List<Team> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // Inizializza i membri di una pagina già caricata
+    @EntityGraph(attributePaths = {"members"})
+    List<Team> findWithMembersByIdIn(Collection<Long> ids);
+
+    // ========== PROIEZIONI DTO ==========
+
+    @Query(RESPONSE_SELECT + "WHERE h.id = :hackathonId AND t.id > :afterId ORDER BY t.id")
+    List<TeamResponse> findResponsesByHackathonIdAfter(Long hackathonId, Long afterId, Pageable pageable);
+
+    // Numero di team per hackathon
+    @Query("SELECT t.hackathon.id AS hackathonId, COUNT(t) AS total FROM Team t GROUP BY t.hackathon.id")
+    List<HackathonCount> countGroupByHackathon();
+
+    // Numero di progetti inviati per hackathon
+    @Query("SELECT t.hackathon.id AS hackathonId, COUNT(t) AS total FROM Team t " +
+            "WHERE t.projectName IS NOT NULL AND TRIM(t.projectName) <> '' GROUP BY t.hackathon.id")
+    List<HackathonCount> countSubmissionsGroupByHackathon();
+
+    // Ultimi team che hanno inviato un progetto, per il feed attività della dashboard
+    @Query("SELECT t.name AS teamName, h.name AS hackathonName, c.username AS creatorName FROM Team t " +
+            "JOIN t.hackathon h LEFT JOIN t.creator c " +
+            "WHERE t.projectName IS NOT NULL AND TRIM(t.projectName) <> '' ORDER BY t.id DESC")
+    List<SubmissionActivity> findRecentSubmissions(Pageable pageable);
+
+    // Team già esistenti con il numero di membri, per l'import massivo
+    @Query("SELECT t.id AS id, t.hackathon.id AS hackathonId, t.name AS name, SIZE(t.members) AS members " +
+            "FROM Team t WHERE t.hackathon.id IN :hackathonIds AND t.name IN :names")
+    List<TeamSlotView> findSlotsByHackathonIdInAndNameIn(Collection<Long> hackathonIds, Collection<String> names);
+
+    // Team valutati di un hackathon, per caricare la classifica
+    @Query("SELECT t.id AS id, t.name AS name, t.score AS score FROM Team t " +
+            "WHERE t.hackathon.id = :hackathonId AND t.score IS NOT NULL")
+    List<TeamScoreView> findScoresByHackathonId(Long hackathonId);
+
+    // Nomi dei team di un hackathon, senza caricare i membri
+    @Query("SELECT t.id AS id, t.name AS name FROM Team t WHERE t.hackathon.id = :hackathonId")
+    List<TeamNameView> findNamesByHackathonId(Long hackathonId);
+
+    interface HackathonCount {
+        Long getHackathonId();
+        Long getTotal();
+    }
+
+    interface TeamSlotView {
+        Long getId();
+        Long getHackathonId();
+        String getName();
+        Integer getMembers();
+    }
+
+    // Team con il punteggio più alto (a parità, id minore): stesso ordinamento della classifica
+    @Query("SELECT t.id AS id, t.name AS name, t.score AS score FROM Team t " +
+            "WHERE t.hackathon.id = :hackathonId AND t.score IS NOT NULL ORDER BY t.score DESC, t.id ASC")
+    List<TeamScoreView> findTopScoresByHackathonId(Long hackathonId, Pageable pageable);
+
+    interface TeamNameView {
+        Long getId();
+        String getName();
+    }
+
+    interface TeamScoreView {
+        Long getId();
+        String getName();
+        Double getScore();
+    }
+
+    interface SubmissionActivity {
+        String getTeamName();
+        String getHackathonName();
+        String getCreatorName();
+    }
+}
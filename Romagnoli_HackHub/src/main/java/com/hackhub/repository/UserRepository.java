@@ -1,15 +1,118 @@
 package com.hackhub.repository;
 
+import com.hackhub.dto.UserResponse;
 import com.hackhub.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    String RESPONSE_SELECT = "SELECT new com.hackhub.dto.UserResponse(u.id, u.email, u.username, u.role, t.id, c.id) " +
+            "FROM User u LEFT JOIN u.team t LEFT JOIN t.creator c ";
+
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
+    // Directory per ruolo in query cache: invalidata da Hibernate a ogni modifica della tabella users
+    @EntityGraph(attributePaths = {"team"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role-directories")
+    })
     List<User> findByRole(String role);
     List<User> findByTeamId(Long teamId);
-}
\ No newline at end of file
+
+    // Utente con il suo team già caricato
+    @EntityGraph(attributePaths = {"team"})
+    Optional<User> findWithTeamById(Long id);
+
+    @EntityGraph(attributePaths = {"team"})
+    @Query("SELECT u FROM User u")
+    List<User> findAllWithTeam();
+
+    // ========== KEYSET PAGINATION ==========
+
+    @EntityGraph(attributePaths = {"team"})
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // ========== PROIEZIONI DTO ==========
+
+    @Query(RESPONSE_SELECT + "WHERE u.role = :role AND u.id > :afterId ORDER BY u.id")
+    List<UserResponse> findResponsesByRoleAfter(String role, Long afterId, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE u.role = :role ORDER BY u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role-directories")
+    })
+    List<UserResponse> findResponsesByRole(String role);
+
+    // Mentori dalla tabella di join (indice hackathon_id), poi utenti e team per chiave primaria
+    @Query(RESPONSE_SELECT + "WHERE u.id IN (SELECT m.id FROM Hackathon h JOIN h.mentors m WHERE h.id = :hackathonId) " +
+            "ORDER BY u.id")
+    List<UserResponse> findMentorResponsesByHackathonId(Long hackathonId);
+
+    // Nomi dei membri di più team in una sola query
+    @Query("SELECT u.team.id AS teamId, u.username AS username FROM User u WHERE u.team.id IN :teamIds ORDER BY u.id")
+    List<MemberName> findMemberNamesByTeamIdIn(Collection<Long> teamIds);
+
+    // ========== DESTINATARI DELLE NOTIFICHE ==========
+
+    /**
+     * Tutti gli utenti coinvolti in un hackathon (organizzatore, giudice, mentor, membri dei team),
+     * ognuno una volta sola e con il canale preferito: email per organizzatore e giudice, in-app
+     * per gli altri. Paginata per id (keyset), così i blocchi coprono gli utenti in una sola passata.
+     */
+    @Query("SELECT u.id AS userId, u.email AS email, " +
+            "CASE WHEN u.id = h.organizer.id OR u.id = h.judge.id THEN 'EMAIL' ELSE 'IN_APP' END AS channel " +
+            "FROM Hackathon h, User u WHERE h.id = :hackathonId AND u.id > :afterId AND (" +
+            "u.id = h.organizer.id OR u.id = h.judge.id " +
+            "OR u.id IN (SELECT m.id FROM Hackathon hm JOIN hm.mentors m WHERE hm.id = :hackathonId) " +
+            "OR u.team.id IN (SELECT t.id FROM Team t WHERE t.hackathon.id = :hackathonId)) " +
+            "ORDER BY u.id")
+    List<AudienceMember> findHackathonAudience(Long hackathonId, Long afterId, Pageable pageable);
+
+    // Membri dei team di un hackathon con il proprio team, a blocchi per id
+    @Query("SELECT u.id AS userId, u.email AS email, u.team.id AS teamId FROM User u " +
+            "WHERE u.team.hackathon.id = :hackathonId AND u.id > :afterId ORDER BY u.id")
+    List<TeamAudienceMember> findTeamAudience(Long hackathonId, Long afterId, Pageable pageable);
+
+    // Verifica di unicità massiva per l'import
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    // Conteggio utenti raggruppato per ruolo
+    @Query("SELECT u.role AS role, COUNT(u) AS total FROM User u GROUP BY u.role")
+    List<RoleCount> countGroupByRole();
+
+    interface AudienceMember {
+        Long getUserId();
+        String getEmail();
+        String getChannel();
+    }
+
+    interface TeamAudienceMember {
+        Long getUserId();
+        String getEmail();
+        Long getTeamId();
+    }
+
+    interface MemberName {
+        Long getTeamId();
+        String getUsername();
+    }
+
+    interface RoleCount {
+        String getRole();
+        Long getTotal();
+    }
+}
\ No newline at end of file
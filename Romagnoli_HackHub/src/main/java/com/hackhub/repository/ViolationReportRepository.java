@@ -1,6 +1,7 @@
 package com.hackhub.repository;
 
 import com.hackhub.model.ViolationReport;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -12,4 +13,10 @@ public interface ViolationReportRepository extends JpaRepository<ViolationReport
     List<ViolationReport> findByAssignedOrganizerId(Long organizerId);
     List<ViolationReport> findByStatus(String status);
     List<ViolationReport> findByHackathonId(Long hackathonId);
+
+    // ========== KEYSET PAGINATION ==========
+
+    List<ViolationReport> findByHackathonIdAndIdGreaterThanOrderByIdAsc(Long hackathonId, Long afterId, Pageable pageable);
+    List<ViolationReport> findByAssignedOrganizerIdAndIdGreaterThanOrderByIdAsc(Long organizerId, Long afterId, Pageable pageable);
+    List<ViolationReport> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long afterId, Pageable pageable);
 }
\ No newline at end of file
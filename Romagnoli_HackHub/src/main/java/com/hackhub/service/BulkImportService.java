@@ -0,0 +1,448 @@
+package com.hackhub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackhub.dto.ImportResult;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.model.Team;
+import com.hackhub.model.User;
+import com.hackhub.repository.HackathonRepository;
+import com.hackhub.repository.TeamRepository;
+import com.hackhub.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import massivo di partecipanti (ed eventualmente dei loro team) da CSV o NDJSON.
+ * Il corpo viene letto riga per riga e scritto a blocchi, ciascuno nella propria transazione.
+ */
+@Service
+public class BulkImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final Set<String> ROLES = Set.of("USER", "ORGANIZER", "JUDGE", "MENTOR");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private HackathonRepository hackathonRepository;
+
+    @Autowired
+    private HackathonStatsService hackathonStatsService;
+
+    @Autowired
+    private HackathonJournalService journal;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Importa i partecipanti dal flusso. Colonne/campi: email, username, password,
+     * role (default USER), teamName e hackathonId (opzionali, da indicare insieme).
+     * Il primo partecipante di un team ne diventa il creatore.
+     */
+    public ImportResult importParticipants(InputStream input, boolean ndjson) throws IOException {
+        ImportResult result = new ImportResult();
+        ImportState state = new ImportState();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        String[] header = null;
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!ndjson && header == null) {
+                header = parseCsvLine(line);
+                continue;
+            }
+
+            result.addRow();
+            try {
+                chunk.add(ndjson ? parseJson(lineNumber, line) : parseCsv(lineNumber, header, line));
+            } catch (IllegalArgumentException e) {
+                result.addError(lineNumber, e.getMessage());
+                continue;
+            }
+
+            if (chunk.size() == CHUNK_SIZE) {
+                processChunk(chunk, state, result);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, state, result);
+        }
+
+        System.out.println("Import completato: " + result.getImportedUsers() + " utenti, " +
+                result.getCreatedTeams() + " team, " + result.getFailedRows() + " righe scartate");
+        return result;
+    }
+
+    // ========== ELABORAZIONE A BLOCCHI ==========
+
+    private void processChunk(List<ImportRow> chunk, ImportState state, ImportResult result) {
+        // Email duplicate all'interno del file
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (state.seenEmails.add(row.email)) {
+                candidates.add(row);
+            } else {
+                result.addError(row.line, "Email duplicata nel file");
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Email già registrate: una sola query per blocco
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                candidates.stream().map(r -> r.email).toList()));
+        loadHackathons(candidates, state);
+        loadTeams(candidates, state);
+
+        List<ImportRow> accepted = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existing.contains(row.email)) {
+                result.addError(row.line, "Email già registrata");
+                continue;
+            }
+            String error = reserveTeamSlot(row, state);
+            if (error != null) {
+                result.addError(row.line, error);
+                continue;
+            }
+            accepted.add(row);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // Team ancora da creare: se il blocco fallisce il loro id va dimenticato
+        Set<TeamSlot> pendingTeams = new HashSet<>();
+        for (ImportRow row : accepted) {
+            if (row.slot != null && row.slot.teamId == null) {
+                pendingTeams.add(row.slot);
+            }
+        }
+
+        try {
+            int createdTeams = transactionTemplate.execute(status -> persist(accepted));
+            result.addImportedUsers(accepted.size());
+            result.addCreatedTeams(createdTeams);
+        } catch (RuntimeException e) {
+            pendingTeams.forEach(slot -> slot.teamId = null);
+            releaseTeamSlots(accepted, state);
+            for (ImportRow row : accepted) {
+                result.addError(row.line, "Blocco non salvato: " + e.getMessage());
+            }
+        }
+    }
+
+    // Salva utenti e team del blocco con scritture raggruppate; restituisce i team creati
+    private int persist(List<ImportRow> rows) {
+        List<User> users = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            users.add(new User(row.email, row.username, row.password, row.role));
+        }
+        userRepository.saveAll(users);
+        // Gli utenti devono esistere prima dei team che li referenziano come creatore
+        userRepository.flush();
+
+        Map<TeamSlot, Team> newTeams = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            TeamSlot slot = rows.get(i).slot;
+            User user = users.get(i);
+            if (slot == null) {
+                continue;
+            }
+
+            Team team = newTeams.get(slot);
+            if (team != null) {
+                user.setTeam(team);
+            } else if (slot.teamId == null) {
+                newTeams.put(slot, new Team(slot.name, hackathonRepository.getReferenceById(slot.hackathonId), user));
+            } else {
+                user.setTeam(teamRepository.getReferenceById(slot.teamId));
+            }
+        }
+
+        teamRepository.saveAll(newTeams.values());
+        List<HackathonEvent> events = new ArrayList<>(newTeams.size());
+        newTeams.forEach((slot, team) -> {
+            slot.teamId = team.getId();
+            events.add(HackathonEvent.teamCreated(slot.hackathonId, team.getId(), team.getName()));
+        });
+        journal.appendAll(events);
+
+        Map<Long, Integer> teamsPerHackathon = new HashMap<>();
+        newTeams.keySet().forEach(slot -> teamsPerHackathon.merge(slot.hackathonId, 1, Integer::sum));
+        teamsPerHackathon.forEach(hackathonStatsService::teamsCreated);
+        return newTeams.size();
+    }
+
+    private void loadHackathons(List<ImportRow> rows, ImportState state) {
+        Set<Long> missing = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.hackathonId != null && !state.hackathons.containsKey(row.hackathonId)) {
+                missing.add(row.hackathonId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        for (Hackathon hackathon : hackathonRepository.findAllById(missing)) {
+            state.hackathons.put(hackathon.getId(),
+                    new HackathonInfo(hackathon.isRegistrationOpen(), hackathon.getMaxTeamSize()));
+        }
+        for (Long id : missing) {
+            state.hackathons.putIfAbsent(id, HackathonInfo.NOT_FOUND);
+        }
+    }
+
+    // Team già presenti sul database: l'import vi aggiunge membri invece di crearne di nuovi
+    private void loadTeams(List<ImportRow> rows, ImportState state) {
+        Set<Long> hackathonIds = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.teamName != null && !state.teams.containsKey(teamKey(row.hackathonId, row.teamName))) {
+                hackathonIds.add(row.hackathonId);
+                names.add(row.teamName);
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+
+        for (TeamRepository.TeamSlotView view : teamRepository.findSlotsByHackathonIdInAndNameIn(hackathonIds, names)) {
+            TeamSlot slot = new TeamSlot(view.getHackathonId(), view.getName());
+            slot.teamId = view.getId();
+            slot.members = view.getMembers();
+            state.teams.putIfAbsent(teamKey(slot.hackathonId, slot.name), slot);
+        }
+    }
+
+    private static String teamKey(Long hackathonId, String teamName) {
+        return hackathonId + "/" + teamName;
+    }
+
+    // Applica le stesse regole di TeamService.createTeam/joinTeam sui contatori in memoria
+    private String reserveTeamSlot(ImportRow row, ImportState state) {
+        if (row.teamName == null) {
+            return null;
+        }
+
+        HackathonInfo hackathon = state.hackathons.get(row.hackathonId);
+        if (hackathon == HackathonInfo.NOT_FOUND) {
+            return "Hackathon non trovato";
+        }
+        if (!hackathon.registrationOpen()) {
+            return "Registrazioni chiuse per questo hackathon";
+        }
+
+        TeamSlot slot = state.teams.computeIfAbsent(teamKey(row.hackathonId, row.teamName),
+                key -> new TeamSlot(row.hackathonId, row.teamName));
+        if (slot.members >= hackathon.maxTeamSize()) {
+            return "Il team ha raggiunto il numero massimo di membri (" + hackathon.maxTeamSize() + ")";
+        }
+
+        slot.members++;
+        row.slot = slot;
+        return null;
+    }
+
+    // Annulla le prenotazioni di un blocco non salvato
+    private void releaseTeamSlots(List<ImportRow> rows, ImportState state) {
+        for (ImportRow row : rows) {
+            state.seenEmails.remove(row.email);
+            TeamSlot slot = row.slot;
+            if (slot == null) {
+                continue;
+            }
+            slot.members--;
+            if (slot.members == 0) {
+                state.teams.remove(teamKey(slot.hackathonId, slot.name));
+            }
+        }
+    }
+
+    // ========== PARSING ==========
+
+    private ImportRow parseJson(long line, String json) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON non valido");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("JSON non valido");
+        }
+        return toRow(line, text(node, "email"), text(node, "username"), text(node, "password"),
+                text(node, "role"), text(node, "teamName"), text(node, "hackathonId"));
+    }
+
+    private ImportRow parseCsv(long line, String[] header, String csv) {
+        String[] values = parseCsvLine(csv);
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            fields.put(header[i].trim(), values[i]);
+        }
+        return toRow(line, fields.get("email"), fields.get("username"), fields.get("password"),
+                fields.get("role"), fields.get("teamName"), fields.get("hackathonId"));
+    }
+
+    private ImportRow toRow(long line, String email, String username, String password,
+                            String role, String teamName, String hackathonId) {
+        email = blankToNull(email);
+        username = blankToNull(username);
+        password = blankToNull(password);
+        role = blankToNull(role);
+        teamName = blankToNull(teamName);
+        hackathonId = blankToNull(hackathonId);
+
+        if (email == null || !email.contains("@")) {
+            throw new IllegalArgumentException("Email non valida");
+        }
+        if (username == null) {
+            throw new IllegalArgumentException("Username obbligatorio");
+        }
+        if (password == null) {
+            throw new IllegalArgumentException("Password obbligatoria");
+        }
+
+        role = role != null ? role.toUpperCase() : "USER";
+        if (!ROLES.contains(role)) {
+            throw new IllegalArgumentException("Ruolo non valido: " + role);
+        }
+
+        if ((teamName == null) != (hackathonId == null)) {
+            throw new IllegalArgumentException("teamName e hackathonId vanno indicati insieme");
+        }
+
+        Long parsedHackathonId = null;
+        if (hackathonId != null) {
+            try {
+                parsedHackathonId = Long.valueOf(hackathonId);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("hackathonId non valido: " + hackathonId);
+            }
+        }
+
+        return new ImportRow(line, email, username, password, role, teamName, parsedHackathonId);
+    }
+
+    // Split CSV con supporto a campi tra virgolette e virgolette raddoppiate
+    private static String[] parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values.toArray(new String[0]);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // ========== STATO DELL'IMPORT ==========
+
+    private static class ImportRow {
+        final long line;
+        final String email;
+        final String username;
+        final String password;
+        final String role;
+        final String teamName;
+        final Long hackathonId;
+        TeamSlot slot;
+
+        ImportRow(long line, String email, String username, String password,
+                  String role, String teamName, Long hackathonId) {
+            this.line = line;
+            this.email = email;
+            this.username = username;
+            this.password = password;
+            this.role = role;
+            this.teamName = teamName;
+            this.hackathonId = hackathonId;
+        }
+    }
+
+    private static class TeamSlot {
+        final Long hackathonId;
+        final String name;
+        Long teamId;
+        int members;
+
+        TeamSlot(Long hackathonId, String name) {
+            this.hackathonId = hackathonId;
+            this.name = name;
+        }
+    }
+
+    private record HackathonInfo(boolean registrationOpen, int maxTeamSize) {
+        static final HackathonInfo NOT_FOUND = new HackathonInfo(false, 0);
+    }
+
+    private static class ImportState {
+        final Set<String> seenEmails = new HashSet<>();
+        final Map<Long, HackathonInfo> hackathons = new HashMap<>();
+        final Map<String, TeamSlot> teams = new HashMap<>();
+    }
+}
@@ -0,0 +1,60 @@
+package com.hackhub.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metriche della cache di secondo livello (hit, miss, put) per regione.
+ */
+@Service
+public class CacheStatsService {
+
+    // Regioni di entità/collezioni e regioni di query configurate in caffeine.conf
+    private static final String[] DOMAIN_REGIONS = {"hackathons", "hackathon-mentors", "users"};
+    private static final String[] QUERY_REGIONS = {"role-directories"};
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Object> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : DOMAIN_REGIONS) {
+            regions.put(region, toMap(statistics.getDomainDataRegionStatistics(region)));
+        }
+        for (String region : QUERY_REGIONS) {
+            regions.put(region, toMap(statistics.getQueryRegionStatistics(region)));
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", statistics.getSecondLevelCacheHitCount());
+        stats.put("misses", statistics.getSecondLevelCacheMissCount());
+        stats.put("puts", statistics.getSecondLevelCachePutCount());
+        stats.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        stats.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    private Map<String, Object> toMap(CacheRegionStatistics region) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (region == null) {
+            return map;
+        }
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        map.put("hits", hits);
+        map.put("misses", misses);
+        map.put("puts", region.getPutCount());
+        map.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return map;
+    }
+}
@@ -0,0 +1,114 @@
+package com.hackhub.service;
+
+import com.hackhub.dto.DashboardSnapshot;
+import com.hackhub.repository.HackathonRepository;
+import com.hackhub.repository.SupportRequestRepository;
+import com.hackhub.repository.TeamRepository;
+import com.hackhub.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@Service
+public class DashboardService {
+
+    private static final int MAX_ACTIVITIES = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HackathonRepository hackathonRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private SupportRequestRepository supportRequestRepository;
+
+    @Autowired
+    private HackathonService hackathonService;
+
+    /**
+     * Costruisce la fotografia della dashboard con un numero fisso di query aggregate
+     */
+    @Transactional(readOnly = true)
+    public DashboardSnapshot buildSnapshot() {
+        Map<String, Long> usersByRole = new HashMap<>();
+        for (UserRepository.RoleCount count : userRepository.countGroupByRole()) {
+            usersByRole.put(count.getRole(), count.getTotal());
+        }
+
+        Map<Long, Long> teamsByHackathon = toMap(teamRepository.countGroupByHackathon());
+        Map<Long, Long> submissionsByHackathon = toMap(teamRepository.countSubmissionsGroupByHackathon());
+
+        List<DashboardSnapshot.HackathonRow> hackathons = new ArrayList<>();
+        for (HackathonRepository.DashboardRow row : hackathonRepository.findDashboardRows()) {
+            hackathons.add(new DashboardSnapshot.HackathonRow(
+                    row.getId(), row.getName(), row.getDescription(), row.getStatus(),
+                    row.getRegistrationDeadline(), teamsByHackathon.getOrDefault(row.getId(), 0L)));
+        }
+
+        long totalTeams = sum(teamsByHackathon);
+        long totalSubmissions = sum(submissionsByHackathon);
+        long pendingRequests = supportRequestRepository.countByStatus("PENDING");
+
+        return new DashboardSnapshot(usersByRole, hackathonService.getStatusSummary(), hackathons,
+                totalTeams, totalSubmissions, pendingRequests, recentActivities());
+    }
+
+    private List<DashboardSnapshot.Activity> recentActivities() {
+        List<DashboardSnapshot.Activity> activities = new ArrayList<>();
+        Random random = new Random();
+
+        for (TeamRepository.SubmissionActivity s :
+                teamRepository.findRecentSubmissions(PageRequest.of(0, MAX_ACTIVITIES))) {
+            activities.add(new DashboardSnapshot.Activity(
+                    "submission",
+                    "Team " + s.getTeamName() + " ha inviato progetto per " + s.getHackathonName(),
+                    LocalDateTime.now().minusHours(random.nextInt(24)),
+                    s.getCreatorName() != null ? s.getCreatorName() : "Sconosciuto"
+            ));
+        }
+
+        for (SupportRequestRepository.RequestActivity r :
+                supportRequestRepository.findRecentByStatus("PENDING", PageRequest.of(0, MAX_ACTIVITIES))) {
+            activities.add(new DashboardSnapshot.Activity(
+                    "support",
+                    "Richiesta supporto: " + r.getTitle(),
+                    r.getRequestDate(),
+                    r.getCreatorName() != null ? r.getCreatorName() : "Sconosciuto"
+            ));
+        }
+
+        activities.sort((a1, a2) -> a2.getTimestamp().compareTo(a1.getTimestamp()));
+        if (activities.size() > MAX_ACTIVITIES) {
+            activities = activities.subList(0, MAX_ACTIVITIES);
+        }
+        return activities;
+    }
+
+    private Map<Long, Long> toMap(List<TeamRepository.HackathonCount> counts) {
+        Map<Long, Long> map = new HashMap<>();
+        for (TeamRepository.HackathonCount count : counts) {
+            map.put(count.getHackathonId(), count.getTotal());
+        }
+        return map;
+    }
+
+    private long sum(Map<Long, Long> counts) {
+        long total = 0;
+        for (Long value : counts.values()) {
+            total += value;
+        }
+        return total;
+    }
+}
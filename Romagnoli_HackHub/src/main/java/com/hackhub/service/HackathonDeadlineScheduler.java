@@ -0,0 +1,230 @@
+package com.hackhub.service;
+
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.model.HackathonStatus;
+import com.hackhub.pattern.observer.HackathonObservable;
+import com.hackhub.repository.HackathonRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Transizioni di stato legate alle scadenze: INSCRIZIONE -> IN_CORSO alla chiusura
+ * delle iscrizioni e IN_CORSO -> IN_VALUTAZIONE alla fine dell'evento.
+ * Le scadenze sono in una coda a priorità e un solo timer è armato sulla più vicina;
+ * allo scatto gli hackathon scaduti passano di stato con un unico UPDATE condizionale.
+ */
+@Service
+public class HackathonDeadlineScheduler {
+
+    @Autowired
+    private HackathonRepository hackathonRepository;
+
+    @Autowired
+    private HackathonObservable hackathonObservable;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private HackathonJournalService journal;
+
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>(Comparator.comparing(Deadline::due));
+    private ScheduledFuture<?> timer;
+    private LocalDateTime timerDue;
+
+    //Ricostruisce la coda all'avvio dalle sole righe ancora in attesa di una scadenza
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Deadline> deadlines = new ArrayList<>();
+        for (var row : hackathonRepository.findRegistrationDeadlines()) {
+            deadlines.add(new Deadline(row.getId(), HackathonStatus.INSCRIZIONE, row.getDeadline()));
+        }
+        for (var row : hackathonRepository.findEndDeadlines()) {
+            deadlines.add(new Deadline(row.getId(), HackathonStatus.IN_CORSO, row.getDeadline()));
+        }
+
+        synchronized (this) {
+            queue.clear();
+            queue.addAll(deadlines);
+            rearm();
+        }
+        System.out.println("Scheduler scadenze: " + deadlines.size() + " hackathon in attesa");
+    }
+
+    /**
+     * Registra la prossima scadenza di un hackathon appena creato o cambiato di stato.
+     * Dentro una transazione la registrazione avviene dopo il commit, altrimenti una
+     * scadenza già passata scatterebbe prima che la riga sia visibile.
+     * Le voci superate da un cambio manuale vengono scartate quando scadono.
+     */
+    public void track(Hackathon hackathon) {
+        Deadline deadline = Deadline.of(hackathon);
+        if (deadline == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(deadline);
+                }
+            });
+        } else {
+            enqueue(deadline);
+        }
+    }
+
+    private void enqueue(Deadline deadline) {
+        synchronized (this) {
+            queue.add(deadline);
+            rearm();
+        }
+    }
+
+    // Arma il timer sulla scadenza più vicina, se non lo è già
+    private synchronized void rearm() {
+        Deadline head = queue.peek();
+        if (head == null) {
+            cancelTimer();
+            return;
+        }
+        if (timer != null && head.due().equals(timerDue)) {
+            return;
+        }
+
+        cancelTimer();
+        Instant at = head.due().atZone(ZoneId.systemDefault()).toInstant();
+        timerDue = head.due();
+        timer = taskScheduler.schedule(this::fireDue, at);
+    }
+
+    private void cancelTimer() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+            timerDue = null;
+        }
+    }
+
+    private void fireDue() {
+        Set<HackathonStatus> dueStatuses = EnumSet.noneOf(HackathonStatus.class);
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            while (!queue.isEmpty() && !queue.peek().due().isAfter(now)) {
+                dueStatuses.add(queue.poll().expectedStatus());
+            }
+            timer = null;
+            timerDue = null;
+        }
+
+        // Un UPDATE per tipo di transizione, qualunque sia il numero di hackathon con la stessa scadenza
+        try {
+            if (dueStatuses.contains(HackathonStatus.INSCRIZIONE)) {
+                transition(HackathonStatus.INSCRIZIONE, HackathonStatus.IN_CORSO, now);
+            }
+            if (dueStatuses.contains(HackathonStatus.IN_CORSO)) {
+                transition(HackathonStatus.IN_CORSO, HackathonStatus.IN_VALUTAZIONE, now);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Transizione di stato fallita: " + e.getMessage());
+        }
+
+        synchronized (this) {
+            rearm();
+        }
+    }
+
+    private void transition(HackathonStatus oldStatus, HackathonStatus newStatus, LocalDateTime now) {
+        List<Long> changed = transactionTemplate.execute(status -> move(status, oldStatus, newStatus, now, false));
+        if (changed == null) {
+            // L'UPDATE unico non ha spostato tutte le righe: si ripete una riga alla volta
+            changed = transactionTemplate.execute(status -> move(status, oldStatus, newStatus, now, true));
+        }
+
+        if (changed == null || changed.isEmpty()) {
+            return;
+        }
+        System.out.println(changed.size() + " hackathon passati a: " + newStatus);
+
+        // Gli hackathon appena iniziati attendono ora la fine dell'evento
+        if (newStatus == HackathonStatus.IN_CORSO) {
+            List<Deadline> ends = new ArrayList<>();
+            for (var row : hackathonRepository.findEndDeadlinesByIdIn(changed)) {
+                ends.add(new Deadline(row.getId(), HackathonStatus.IN_CORSO, row.getDeadline()));
+            }
+            synchronized (this) {
+                queue.addAll(ends);
+            }
+        }
+    }
+
+    /**
+     * Sposta gli hackathon scaduti ed emette eventi e notifiche solo per quelli spostati da questa
+     * transazione. Con un UPDATE unico lo si sa solo se il conteggio coincide con le righe bloccate:
+     * altrimenti si annulla tutto (null) e il chiamante ripete una riga alla volta, dove ogni UPDATE
+     * dice da sé se ha cambiato la sua riga. Rileggere lo stato non basta, perché includerebbe
+     * anche le righe spostate nel frattempo da altri.
+     */
+    private List<Long> move(TransactionStatus status, HackathonStatus oldStatus, HackathonStatus newStatus, LocalDateTime now, boolean oneByOne) {
+        List<Long> ids = oldStatus == HackathonStatus.INSCRIZIONE
+                ? hackathonRepository.lockIdsWithRegistrationClosed(now)
+                : hackathonRepository.lockIdsWithEndPassed(now);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        List<Long> moved;
+        if (oneByOne) {
+            moved = ids.stream()
+                    .filter(id -> hackathonRepository.updateStatusByIdIn(List.of(id), oldStatus, newStatus) == 1)
+                    .toList();
+        } else if (hackathonRepository.updateStatusByIdIn(ids, oldStatus, newStatus) == ids.size()) {
+            moved = ids;
+        } else {
+            status.setRollbackOnly();
+            return null;
+        }
+
+        if (!moved.isEmpty()) {
+            journal.appendAll(moved.stream()
+                    .map(id -> HackathonEvent.statusChanged(id, oldStatus, newStatus))
+                    .toList());
+            // Un evento per hackathon, salvato in questa transazione ed eseguito dopo il commit
+            hackathonObservable.notifyStatusChange(moved, oldStatus, newStatus);
+        }
+        return moved;
+    }
+
+    private record Deadline(Long hackathonId, HackathonStatus expectedStatus, LocalDateTime due) {
+
+        static Deadline of(Hackathon hackathon) {
+            return switch (hackathon.getStatus()) {
+                case INSCRIZIONE -> new Deadline(hackathon.getId(), HackathonStatus.INSCRIZIONE, hackathon.getRegistrationDeadline());
+                case IN_CORSO -> new Deadline(hackathon.getId(), HackathonStatus.IN_CORSO, hackathon.getEndDate());
+                default -> null;
+            };
+        }
+    }
+}
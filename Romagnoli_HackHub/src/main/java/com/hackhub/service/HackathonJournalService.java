@@ -0,0 +1,216 @@
+package com.hackhub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.HackathonState;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.model.HackathonJournalHead;
+import com.hackhub.model.HackathonSnapshot;
+import com.hackhub.repository.HackathonEventRepository;
+import com.hackhub.repository.HackathonJournalHeadRepository;
+import com.hackhub.repository.HackathonRepository;
+import com.hackhub.repository.HackathonSnapshotRepository;
+import com.hackhub.repository.HackathonStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Journal degli eventi di hackathon e team. Gli eventi vengono salvati nella stessa
+ * transazione della modifica che descrivono; con gli id da sequenza (allocationSize 50)
+ * Hibernate li inserisce in batch al flush. Ogni evento riceve una versione per hackathon,
+ * riservata sulla riga di testa del journal che resta bloccata fino al commit: replay e
+ * snapshot seguono la versione, che rispetta l'ordine di commit anche con più nodi.
+ * Periodicamente lo stato ricostruito viene salvato come snapshot, così il replay applica
+ * solo gli eventi più recenti.
+ */
+@Service
+@Transactional
+public class HackathonJournalService {
+
+    @Autowired
+    private HackathonEventRepository eventRepository;
+
+    @Autowired
+    private HackathonSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private HackathonJournalHeadRepository headRepository;
+
+    @Autowired
+    private HackathonRepository hackathonRepository;
+
+    @Autowired
+    private HackathonStatsRepository hackathonStatsRepository;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Eventi dopo l'ultimo snapshot oltre i quali se ne prende uno nuovo
+    @Value("${app.journal.snapshot-every:100}")
+    private long snapshotEvery;
+
+    /**
+     * Riga di testa a versione 0, creata nella stessa transazione dell'hackathon: chi scrive eventi
+     * la trova sempre e si limita a incrementarla (gli hackathon precedenti la ricevono dalla V15).
+     */
+    public void open(Long hackathonId) {
+        headRepository.save(new HackathonJournalHead(hackathonId, 0));
+    }
+
+    public void append(HackathonEvent event) {
+        appendAll(List.of(event));
+    }
+
+    public void appendAll(List<HackathonEvent> events) {
+        // Per hackathon in ordine di id: i lock sulle righe di testa si prendono sempre nello stesso ordine
+        Map<Long, List<HackathonEvent>> byHackathon = new TreeMap<>();
+        for (HackathonEvent event : events) {
+            byHackathon.computeIfAbsent(event.getHackathonId(), id -> new ArrayList<>()).add(event);
+        }
+        byHackathon.forEach((hackathonId, batch) -> {
+            long version = reserveVersions(hackathonId, batch.size());
+            for (HackathonEvent event : batch) {
+                event.assignVersion(++version);
+            }
+        });
+        eventRepository.saveAll(events);
+        afterCommit(() -> byHackathon.keySet()
+                .forEach(hackathonId -> liveUpdateService.changed(LiveUpdateService.hackathonTopic(hackathonId))));
+    }
+
+    /**
+     * Ultima versione prima di quelle riservate. La riga di testa esiste già (open): crearla qui
+     * al primo evento farebbe fallire per chiave duplicata una delle scritture concorrenti.
+     */
+    private long reserveVersions(Long hackathonId, int count) {
+        if (headRepository.advance(hackathonId, count) == 0) {
+            throw new RuntimeException("Journal dell'hackathon " + hackathonId + " non trovato");
+        }
+        return headRepository.findVersion(hackathonId) - count;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<HackathonEvent> getEvents(Long hackathonId, String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<HackathonEvent> rows = eventRepository.findByHackathonIdAndVersionGreaterThanOrderByVersionAsc(
+                hackathonId, CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, HackathonEvent::getVersion);
+    }
+
+    //Stato corrente: ultimo snapshot più gli eventi successivi
+    @Transactional(readOnly = true)
+    public HackathonState replay(Long hackathonId) {
+        HackathonState state = snapshotRepository.findById(hackathonId)
+                .map(this::readState)
+                .orElseGet(HackathonState::new);
+        for (HackathonEvent event : eventRepository.findByHackathonIdAndVersionGreaterThanOrderByVersionAsc(
+                hackathonId, state.getLastVersion())) {
+            state.apply(event);
+        }
+        return state;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> describeReplay(Long hackathonId) {
+        if (!hackathonRepository.existsById(hackathonId)) {
+            throw new RuntimeException("Hackathon non trovato");
+        }
+        long start = System.nanoTime();
+        long fromVersion = snapshotRepository.findById(hackathonId).map(HackathonSnapshot::getLastVersion).orElse(0L);
+        HackathonState state = replay(hackathonId);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("state", state);
+        result.put("stats", state.toStats(hackathonId));
+        result.put("leaderboard", state.ranking());
+        result.put("snapshotVersion", fromVersion);
+        result.put("elapsedMs", (System.nanoTime() - start) / 1_000_000.0);
+        return result;
+    }
+
+    /**
+     * Ricostruisce dal journal le proiezioni di un hackathon: riga di hackathon_stats
+     * e classifica in memoria.
+     */
+    public HackathonState rebuildProjections(Long hackathonId) {
+        if (!hackathonRepository.existsById(hackathonId)) {
+            throw new RuntimeException("Hackathon non trovato");
+        }
+        HackathonState state = replay(hackathonId);
+        hackathonStatsRepository.save(state.toStats(hackathonId));
+        leaderboardService.reload(hackathonId, state.ranking());
+        System.out.println("Proiezioni hackathon " + hackathonId + " ricostruite fino alla versione " + state.getLastVersion());
+        return state;
+    }
+
+    public void snapshot(Long hackathonId) {
+        HackathonState state = replay(hackathonId);
+        snapshotRepository.save(new HackathonSnapshot(hackathonId, state.getLastVersion(), writeState(state)));
+    }
+
+    // Con più nodi gli snapshot li prende il proprietario del lease dei job
+    @Scheduled(fixedDelayString = "${app.journal.snapshot-interval-ms:60000}")
+    public void takeSnapshots() {
+        if (leaseService.heldToken(SchedulerLeaseService.HACKATHON_LIFECYCLE) == null) {
+            return;
+        }
+        List<Long> hackathonIds = eventRepository.findHackathonIdsNeedingSnapshot(snapshotEvery);
+        for (Long hackathonId : hackathonIds) {
+            snapshot(hackathonId);
+        }
+        if (!hackathonIds.isEmpty()) {
+            System.out.println("Snapshot del journal salvati per " + hackathonIds.size() + " hackathon");
+        }
+    }
+
+    private HackathonState readState(HackathonSnapshot snapshot) {
+        try {
+            return objectMapper.readValue(snapshot.getState(), HackathonState.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Snapshot non leggibile per l'hackathon " + snapshot.getHackathonId(), e);
+        }
+    }
+
+    private String writeState(HackathonState state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Serializzazione dello snapshot fallita", e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.hackhub.service;
 
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.HackathonResponse;
+import com.hackhub.dto.UserResponse;
 import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.model.HackathonLifecycle;
+import com.hackhub.model.HackathonStats;
+import com.hackhub.model.HackathonStatus;
 import com.hackhub.model.User;
-import com.hackhub.model.Team;
 import com.hackhub.repository.HackathonRepository;
+import com.hackhub.repository.TeamRepository;
 import com.hackhub.repository.UserRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
@@ -15,6 +25,7 @@ import com.hackhub.pattern.observer.HackathonObservable;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Transactional
 public class HackathonService {
 
     @Autowired
@@ -26,6 +37,24 @@ public class HackathonService {
     @Autowired
     private HackathonObservable hackathonObservable;
 
+    @Autowired
+    private HackathonDeadlineScheduler deadlineScheduler;
+
+    @Autowired
+    private HackathonStatsService hackathonStatsService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Autowired
+    private HackathonJournalService journal;
+
     public Hackathon createHackathon(String name, String description, String rules,
                                      LocalDateTime regDeadline, LocalDateTime startDate,
                                      LocalDateTime endDate, Integer maxTeamSize, Long organizerId) {
@@ -40,7 +69,12 @@ public class HackathonService {
         Hackathon hackathon = new Hackathon(name, description, rules, regDeadline,
                 startDate, endDate, maxTeamSize, organizer);
 
-        return hackathonRepository.save(hackathon);
+        Hackathon saved = hackathonRepository.save(hackathon);
+        hackathonStatsService.initialize(saved.getId());
+        journal.open(saved.getId());
+        journal.append(HackathonEvent.hackathonCreated(saved));
+        deadlineScheduler.track(saved);
+        return saved;
     }
 
     public Hackathon createHackathonWithBuilder(String name, String description, String rules, LocalDateTime regDeadline, LocalDateTime startDate, LocalDateTime endDate, Integer maxTeamSize, Long organizerId, Long judgeId, List<Long> mentorIds) {
@@ -102,6 +136,16 @@ public class HackathonService {
 
         // Salva e notifica
         Hackathon saved = hackathonRepository.save(hackathon);
+        hackathonStatsService.initialize(saved.getId());
+        journal.open(saved.getId());
+        journal.append(HackathonEvent.hackathonCreated(saved));
+        if (saved.getJudge() != null) {
+            journal.append(HackathonEvent.judgeAssigned(saved.getId(), saved.getJudge().getId()));
+        }
+        for (User mentor : saved.getMentors()) {
+            journal.append(HackathonEvent.mentorAdded(saved.getId(), mentor.getId()));
+        }
+        deadlineScheduler.track(saved);
 
         // Notifica gli observer
         hackathonObservable.notifyJudgeAssigned(saved);
@@ -123,6 +167,7 @@ public class HackathonService {
 
         hackathon.setJudge(judge);
         Hackathon saved = hackathonRepository.save(hackathon);
+        journal.append(HackathonEvent.judgeAssigned(saved.getId(), judge.getId()));
 
         // Notifica gli observer
         hackathonObservable.notifyJudgeAssigned(saved);
@@ -130,67 +175,138 @@ public class HackathonService {
         return saved;
     }
 
+    /**
+     * Porta l'hackathon allo stato indicato, se la tabella delle transizioni lo consente.
+     * L'UPDATE è condizionato allo stato letto: se API e scheduler cambiano lo stesso
+     * hackathon in contemporanea uno solo vince, e solo lui notifica gli observer.
+     */
     public Hackathon updateStatus(Long hackathonId, String newStatus) {
+        HackathonStatus target = HackathonStatus.parse(newStatus);
         Hackathon hackathon = hackathonRepository.findById(hackathonId)
                 .orElseThrow(() -> new RuntimeException("Hackathon non trovato"));
+        HackathonStatus oldStatus = hackathon.getStatus();
 
-        String oldStatus = hackathon.getStatus();
+        HackathonLifecycle.check(hackathon, target, hackathonStatsService.getStats(hackathonId));
 
-        if (!isValidStatus(newStatus)) {
-            throw new RuntimeException("Stato non valido");
+        // Se concluso, il vincitore viene scritto insieme allo stato
+        Long winnerTeamId = target == HackathonStatus.CONCLUSO
+                ? determineWinner(hackathon)
+                : hackathon.getWinnerTeamId();
+        if (hackathonRepository.compareAndSetStatus(hackathonId, oldStatus, target, winnerTeamId) == 0) {
+            throw new RuntimeException("Lo stato dell'hackathon è cambiato nel frattempo");
         }
 
-        hackathon.setStatus(newStatus);
-        Hackathon saved = hackathonRepository.save(hackathon);
+        journal.append(HackathonEvent.statusChanged(hackathonId, oldStatus, target));
+        if (target == HackathonStatus.CONCLUSO) {
+            if (winnerTeamId != null) {
+                journal.append(HackathonEvent.winnerDeclared(hackathonId, winnerTeamId));
+            }
+            leaderboardService.evict(hackathonId);
+        }
 
-        // Notifica gli observer
-        hackathonObservable.notifyStatusChange(saved, oldStatus, newStatus);
+        // L'UPDATE in blocco ha svuotato il contesto e la cache di secondo livello viene invalidata solo
+        // al commit: rileggere darebbe lo stato precedente. Si riportano sull'entità i valori appena scritti.
+        hackathon.setStatus(target);
+        hackathon.setWinnerTeamId(winnerTeamId);
+        deadlineScheduler.track(hackathon);
 
-        // Se concluso, determina vincitore
-        if ("CONCLUSO".equals(newStatus)) {
-            determineWinner(hackathon);
-        }
+        // Notifica gli observer: evento salvato con la transizione, eseguito dopo il commit
+        hackathonObservable.notifyStatusChange(List.of(hackathonId), oldStatus, target);
 
-        return saved;
+        return hackathon;
     }
 
-    private boolean isValidStatus(String status) {
-        return List.of("INSCRIZIONE", "IN_CORSO", "IN_VALUTAZIONE", "CONCLUSO")
-                .contains(status);
+    //Il vincitore è il team con il punteggio più alto (a parità, id minore), letto dal database:
+    //la classifica in memoria di questo nodo può non avere le valutazioni fatte sugli altri
+    private Long determineWinner(Hackathon hackathon) {
+        return teamRepository.findTopScoresByHackathonId(hackathon.getId(), PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .map(winner -> {
+                    System.out.println("Vincitore: " + winner.getName() + " con punteggio: " + winner.getScore());
+                    return winner.getId();
+                })
+                .orElse(null);
     }
 
-    private void determineWinner(Hackathon hackathon) {
-        List<Team> teams = hackathon.getTeams();
+    @Transactional(readOnly = true)
+    public List<Hackathon> getAllHackathons() {
+        return hackathonRepository.findAll();
+    }
 
-        if (teams.isEmpty()) {
-            return;
-        }
+    //Hackathon con organizzatore e team, per le pagine di elenco
+    @Transactional(readOnly = true)
+    public List<Hackathon> getAllHackathonsWithTeams() {
+        return hackathonRepository.findAllWithOrganizerAndTeams();
+    }
 
-        // Trova il team con il punteggio più alto
-        Team winner = null;
-        Double maxScore = -1.0;
+    //Pagina di hackathon ordinata per ID, a partire dal cursore
+    @Transactional(readOnly = true)
+    public CursorPage<HackathonResponse> getHackathonsPage(String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<HackathonResponse> rows = hackathonRepository.findResponsesAfter(
+                CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, HackathonResponse::id);
+    }
 
-        for (Team team : teams) {
-            if (team.getScore() != null && team.getScore() > maxScore) {
-                maxScore = team.getScore();
-                winner = team;
-            }
+    @Transactional(readOnly = true)
+    public List<HackathonResponse> getHackathonResponsesByStatus(String status) {
+        return hackathonRepository.findResponsesByStatus(HackathonStatus.parse(status));
+    }
+
+    @Transactional(readOnly = true)
+    public List<HackathonResponse> getHackathonResponsesByOrganizer(Long organizerId) {
+        return hackathonRepository.findResponsesByOrganizerId(organizerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserResponse> getMentorResponses(Long hackathonId) {
+        //findById legge dalla cache di secondo livello, existsById andrebbe sempre sul database
+        if (hackathonRepository.findById(hackathonId).isEmpty()) {
+            throw new RuntimeException("Hackathon non trovato");
         }
+        return userRepository.findMentorResponsesByHackathonId(hackathonId);
+    }
+
+    //Pagina di hackathon con organizzatore e team, per il pannello di amministrazione
+    @Transactional(readOnly = true)
+    public CursorPage<Hackathon> getHackathonsWithTeamsPage(String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<Hackathon> rows = hackathonRepository.findWithOrganizerByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        CursorPage<Hackathon> page = CursorPage.of(rows, limit, Hackathon::getId);
 
-        if (winner != null) {
-            hackathon.setWinnerTeamId(winner.getId());
-            System.out.println("Vincitore: " + winner.getName() + " con punteggio: " + maxScore);
+        if (!page.getItems().isEmpty()) {
+            hackathonRepository.findWithTeamsByIdIn(page.getItems().stream().map(Hackathon::getId).toList());
         }
+        return page;
     }
 
-    public List<Hackathon> getAllHackathons() {
-        return hackathonRepository.findAll();
+    @Transactional(readOnly = true)
+    public long countHackathons() {
+        return hackathonRepository.count();
     }
 
-    public List<Hackathon> getHackathonsByStatus(String status) {
+    @Transactional(readOnly = true)
+    public List<Hackathon> getHackathonsByStatus(HackathonStatus status) {
         return hackathonRepository.findByStatus(status);
     }
 
+    //Conta gli hackathon per ciascuno stato con una sola query aggregata
+    @Transactional(readOnly = true)
+    public Map<String, Long> getStatusSummary() {
+        Map<String, Long> summary = new HashMap<>();
+        for (HackathonStatus status : HackathonStatus.values()) {
+            summary.put(status.name(), 0L);
+        }
+
+        for (HackathonRepository.StatusCount count : hackathonRepository.countGroupByStatus()) {
+            summary.put(count.getStatus().name(), count.getTotal());
+        }
+
+        return summary;
+    }
+
+    @Transactional(readOnly = true)
     public List<Hackathon> getHackathonsByOrganizer(Long organizerId) {
         return hackathonRepository.findByOrganizerId(organizerId);
     }
@@ -199,12 +315,13 @@ public class HackathonService {
         Hackathon hackathon = hackathonRepository.findById(hackathonId)
                 .orElseThrow(() -> new RuntimeException("Hackathon non trovato"));
 
-        if (!"CONCLUSO".equals(hackathon.getStatus())) {
+        if (hackathon.getStatus() != HackathonStatus.CONCLUSO) {
             throw new RuntimeException("L'hackathon non è concluso");
         }
 
         hackathon.setWinnerTeamId(teamId);
         Hackathon saved = hackathonRepository.save(hackathon);
+        journal.append(HackathonEvent.winnerDeclared(hackathonId, teamId));
 
         // Notifica gli observer
         hackathonObservable.notifyWinnerDeclared(saved, teamId);
@@ -225,6 +342,7 @@ public class HackathonService {
 
         if (!hackathon.getMentors().contains(mentor)) {
             hackathon.getMentors().add(mentor);
+            journal.append(HackathonEvent.mentorAdded(hackathonId, mentorId));
         }
 
         return hackathonRepository.save(hackathon);
@@ -237,113 +355,97 @@ public class HackathonService {
         User mentor = userRepository.findById(mentorId)
                 .orElseThrow(() -> new RuntimeException("Mentor non trovato"));
 
-        hackathon.getMentors().remove(mentor);
+        if (hackathon.getMentors().remove(mentor)) {
+            journal.append(HackathonEvent.mentorRemoved(hackathonId, mentorId));
+        }
         return hackathonRepository.save(hackathon);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getMentors(Long hackathonId) {
+        //Hackathon e collezione dei mentor vengono dalla cache di secondo livello
         Hackathon hackathon = hackathonRepository.findById(hackathonId)
                 .orElseThrow(() -> new RuntimeException("Hackathon non trovato"));
+        Hibernate.initialize(hackathon.getMentors());
         return hackathon.getMentors();
     }
 
-    //Aggiorna automaticamente lo stato in base alle date
+    //Chiude gli hackathon in valutazione con tutti i progetti valutati.
+    //Le transizioni legate alle date sono gestite da HackathonDeadlineScheduler.
+    //Con più nodi lo esegue solo il proprietario del lease, verificato con il token di fencing.
     @Scheduled(fixedRate = 3600000) // Ogni ora
     @Transactional
     public void updateHackathonStatuses() {
-        List<Hackathon> hackathons = hackathonRepository.findAll();
-        LocalDateTime now = LocalDateTime.now();
+        Long token = leaseService.heldToken(SchedulerLeaseService.HACKATHON_LIFECYCLE);
+        if (token == null) {
+            return;
+        }
+        leaseService.fence(SchedulerLeaseService.HACKATHON_LIFECYCLE, token);
+
+        // Solo gli hackathon con team e senza progetti in attesa di valutazione (contatori in hackathon_stats)
+        List<Hackathon> hackathons = hackathonRepository.findReadyToConclude();
+        List<Long> concluded = new ArrayList<>();
 
         for (Hackathon hackathon : hackathons) {
-            String oldStatus = hackathon.getStatus();
-            String newStatus = null;
-
-            switch (hackathon.getStatus()) {
-                case "INSCRIZIONE":
-                    if (now.isAfter(hackathon.getRegistrationDeadline())) {
-                        newStatus = "IN_CORSO";
-                    }
-                    break;
-
-                case "IN_CORSO":
-                    if (now.isAfter(hackathon.getEndDate())) {
-                        newStatus = "IN_VALUTAZIONE";
-                    }
-                    break;
-
-                case "IN_VALUTAZIONE":
-                    // Controlla se tutte le sottomissioni sono state valutate
-                    boolean allEvaluated = true;
-                    for (Team team : hackathon.getTeams()) {
-                        if (team.hasSubmittedProject() && !team.isEvaluated()) {
-                            allEvaluated = false;
-                            break;
-                        }
-                    }
-
-                    if (allEvaluated && !hackathon.getTeams().isEmpty()) {
-                        newStatus = "CONCLUSO";
-                        determineWinner(hackathon);
-                    }
-                    break;
+            // Compare-and-set: se una chiamata API l'ha già concluso, qui non si notifica una seconda volta
+            Long winnerTeamId = determineWinner(hackathon);
+            if (hackathonRepository.compareAndSetStatus(hackathon.getId(), HackathonStatus.IN_VALUTAZIONE,
+                    HackathonStatus.CONCLUSO, winnerTeamId) == 1) {
+                concluded.add(hackathon.getId());
+                journal.append(HackathonEvent.statusChanged(hackathon.getId(),
+                        HackathonStatus.IN_VALUTAZIONE, HackathonStatus.CONCLUSO));
+                if (winnerTeamId != null) {
+                    journal.append(HackathonEvent.winnerDeclared(hackathon.getId(), winnerTeamId));
+                }
+                leaderboardService.evict(hackathon.getId());
+                System.out.println("Hackathon '" + hackathon.getName() + "' passato a: CONCLUSO");
             }
+        }
 
-            if (newStatus != null && !newStatus.equals(oldStatus)) {
-                hackathon.setStatus(newStatus);
-                hackathonRepository.save(hackathon);
-                hackathonObservable.notifyStatusChange(hackathon, oldStatus, newStatus);
-                System.out.println("Hackathon '" + hackathon.getName() + "' passato a: " + newStatus);
-            }
+        // Eventi salvati con le transizioni, eseguiti dopo il commit
+        hackathonObservable.notifyStatusChange(concluded, HackathonStatus.IN_VALUTAZIONE, HackathonStatus.CONCLUSO);
+
+        // Riallinea la coda delle scadenze con gli hackathon creati su altri nodi
+        deadlineScheduler.rebuild();
+    }
+
+    //Il nuovo proprietario del lease recupera subito il lavoro arretrato, senza attendere l'ora
+    @EventListener
+    public void onLeaseAcquired(SchedulerLeaseService.LeaseAcquired event) {
+        if (SchedulerLeaseService.HACKATHON_LIFECYCLE.equals(event.name())) {
+            updateHackathonStatuses();
         }
     }
 
     /**
      * Ottiene statistiche complete per un hackathon
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getHackathonStatistics(Long hackathonId) {
         Hackathon hackathon = hackathonRepository.findById(hackathonId)
                 .orElseThrow(() -> new RuntimeException("Hackathon non trovato"));
+        HackathonStats teamStats = hackathonStatsService.getStats(hackathonId);
 
         Map<String, Object> stats = new HashMap<>();
 
         // Statistiche base
         stats.put("name", hackathon.getName());
         stats.put("status", hackathon.getStatus());
-        stats.put("totalTeams", hackathon.getTeams().size());
+        stats.put("totalTeams", teamStats.getTeamCount());
 
-        // Statistiche team
-        int teamsWithSubmission = 0;
-        int teamsEvaluated = 0;
-        double totalScore = 0;
-        List<Double> scores = new ArrayList<>();
-
-        for (Team team : hackathon.getTeams()) {
-            if (team.hasSubmittedProject()) {
-                teamsWithSubmission++;
-            }
-            if (team.isEvaluated()) {
-                teamsEvaluated++;
-                totalScore += team.getScore();
-                scores.add(team.getScore());
-            }
-        }
-
-        stats.put("teamsWithSubmission", teamsWithSubmission);
-        stats.put("teamsEvaluated", teamsEvaluated);
-        stats.put("avgScore", teamsEvaluated > 0 ? totalScore / teamsEvaluated : 0);
-        stats.put("maxScore", scores.stream().max(Double::compare).orElse(0.0));
-        stats.put("minScore", scores.stream().min(Double::compare).orElse(0.0));
+        // Statistiche team, dai contatori mantenuti a ogni invio e valutazione
+        stats.put("teamsWithSubmission", teamStats.getSubmittedCount());
+        stats.put("teamsEvaluated", teamStats.getEvaluatedCount());
+        stats.put("avgScore", teamStats.getAverageScore());
+        stats.put("maxScore", teamStats.getScoreMax() != null ? teamStats.getScoreMax() : 0.0);
+        stats.put("minScore", teamStats.getScoreMin() != null ? teamStats.getScoreMin() : 0.0);
 
         // Statistiche mentori
         stats.put("totalMentors", hackathon.getMentors().size());
 
         // Vincitore
         if (hackathon.getWinnerTeamId() != null) {
-            Optional<Team> winner = hackathon.getTeams().stream()
-                    .filter(t -> t.getId().equals(hackathon.getWinnerTeamId()))
-                    .findFirst();
-
-            winner.ifPresent(team -> {
+            teamRepository.findById(hackathon.getWinnerTeamId()).ifPresent(team -> {
                 stats.put("winner", team.getName());
                 stats.put("winnerScore", team.getScore());
             });
@@ -353,6 +455,7 @@ public class HackathonService {
     }
 
     //Verifica se un utente può accedere a un hackathon
+    @Transactional(readOnly = true)
     public boolean canAccessHackathon(Long hackathonId, Long userId, String userRole) {
         Hackathon hackathon = hackathonRepository.findById(hackathonId)
                 .orElseThrow(() -> new RuntimeException("Hackathon non trovato"));
@@ -384,8 +487,24 @@ public class HackathonService {
         return false;
     }
 
+    @Transactional(readOnly = true)
     public Hackathon getHackathonById(Long id) {
         return hackathonRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Hackathon non trovato con ID: " + id));
     }
+
+    //Hackathon con organizzatore, giudice e mentori, per la pagina di dettaglio
+    @Transactional(readOnly = true)
+    public Hackathon getHackathonWithStaff(Long id) {
+        return hackathonRepository.findWithStaffById(id)
+                .orElseThrow(() -> new RuntimeException("Hackathon non trovato con ID: " + id));
+    }
+
+    //Hackathon con staff e team, per la pagina di gestione (due query)
+    @Transactional(readOnly = true)
+    public Hackathon getHackathonForManagement(Long id) {
+        Hackathon hackathon = getHackathonWithStaff(id);
+        hackathonRepository.findWithTeamsById(id);
+        return hackathon;
+    }
 }
@@ -0,0 +1,81 @@
+package com.hackhub.service;
+
+import com.hackhub.model.HackathonStats;
+import com.hackhub.repository.HackathonStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Mantiene i contatori di HackathonStats. Gli aggiornamenti incrementali sono UPDATE
+ * atomici; se la riga manca (hackathon precedenti) o il cambiamento non è incrementale
+ * i contatori vengono ricalcolati con una query aggregata sui team.
+ */
+@Service
+@Transactional
+public class HackathonStatsService {
+
+    @Autowired
+    private HackathonStatsRepository statsRepository;
+
+    //Riga a zero per un hackathon appena creato
+    public void initialize(Long hackathonId) {
+        statsRepository.save(new HackathonStats(hackathonId));
+    }
+
+    public void teamsCreated(Long hackathonId, int count) {
+        if (statsRepository.addTeams(hackathonId, count) == 0) {
+            rebuild(hackathonId);
+        }
+    }
+
+    public void projectSubmitted(Long hackathonId, boolean alreadyEvaluated) {
+        if (statsRepository.addSubmission(hackathonId, alreadyEvaluated ? 0 : 1) == 0) {
+            rebuild(hackathonId);
+        }
+    }
+
+    public void teamEvaluated(Long hackathonId, Double oldScore, double score, boolean submitted) {
+        // Una rivalutazione può spostare minimo e massimo: si ricalcola
+        if (oldScore != null) {
+            if (oldScore != score) {
+                rebuild(hackathonId);
+            }
+            return;
+        }
+        if (statsRepository.addEvaluation(hackathonId, score, submitted ? 1 : 0) == 0) {
+            rebuild(hackathonId);
+        }
+    }
+
+    public void rebuild(Long hackathonId) {
+        if (statsRepository.recompute(hackathonId) == 0) {
+            // Riga mancante (creata all'avvio dell'hackathon e dalla migrazione V4 per quelli precedenti)
+            statsRepository.save(computeFromTeams(hackathonId));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public HackathonStats getStats(Long hackathonId) {
+        return statsRepository.findById(hackathonId)
+                .orElseGet(() -> computeFromTeams(hackathonId));
+    }
+
+    private HackathonStats computeFromTeams(Long hackathonId) {
+        HackathonStatsRepository.TeamAggregate aggregate = statsRepository.aggregateTeams(hackathonId);
+
+        HackathonStats stats = new HackathonStats(hackathonId);
+        stats.setTeamCount(toInt(aggregate.getTeamCount()));
+        stats.setSubmittedCount(toInt(aggregate.getSubmittedCount()));
+        stats.setEvaluatedCount(toInt(aggregate.getEvaluatedCount()));
+        stats.setPendingEvaluations(toInt(aggregate.getPendingEvaluations()));
+        stats.setScoreSum(aggregate.getScoreSum() != null ? aggregate.getScoreSum() : 0.0);
+        stats.setScoreMin(aggregate.getScoreMin());
+        stats.setScoreMax(aggregate.getScoreMax());
+        return stats;
+    }
+
+    private static int toInt(Long value) {
+        return value != null ? value.intValue() : 0;
+    }
+}
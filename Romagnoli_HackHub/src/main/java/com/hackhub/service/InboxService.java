@@ -0,0 +1,234 @@
+package com.hackhub.service;
+
+import com.hackhub.dto.InboxItem;
+import com.hackhub.model.InboxCursor;
+import com.hackhub.model.InboxNotification;
+import com.hackhub.model.User;
+import com.hackhub.repository.InboxCursorRepository;
+import com.hackhub.repository.InboxNotificationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inbox delle notifiche in-app. Le notifiche sono salvate su tabella (solo inserimenti), ognuna
+ * con la sua posizione nell'inbox dell'utente riservata su InboxCursor: le posizioni seguono
+ * l'ordine di commit, quindi la soglia di lettura non salta notifiche arrivate in ritardo.
+ * Per ogni utente restano in memoria le più recenti e le posizioni (non lette = consegnate - lette),
+ * così il contatore non richiede mai una query. Le posizioni sono caricate all'avvio, aggiornate
+ * dopo ogni commit e riallineate ogni sync-ms con quelle cambiate sugli altri nodi.
+ */
+@Service
+@Transactional
+public class InboxService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // Le posizioni cambiano al momento dell'UPDATE ma diventano visibili al commit:
+    // la lettura delle modifiche riparte da un po' prima dell'ultima vista
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(10);
+
+    @Autowired
+    private InboxNotificationRepository notificationRepository;
+
+    @Autowired
+    private InboxCursorRepository cursorRepository;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Value("${app.notifications.inbox.capacity:50}")
+    private int capacity;
+
+    private final Map<Long, UserInbox> inboxes = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime syncedUpTo;
+
+    @PostConstruct
+    void loadUnreadCounts() {
+        syncedUpTo = cursorRepository.findLastChange();
+        for (InboxCursorRepository.Position position : cursorRepository.findWithUnread()) {
+            inbox(position.getUserId()).sync(position.getLastSeq(), position.getAckedSeq());
+        }
+        System.out.println("Inbox: contatori non lette caricati per " + inboxes.size() + " utenti");
+    }
+
+    /**
+     * Stesso messaggio a più utenti: riserva le posizioni, un inserimento in blocco,
+     * poi i buffer in memoria.
+     */
+    public void deliver(String message, Collection<User> recipients) {
+        //In ordine di id: le righe di InboxCursor sono bloccate sempre nello stesso ordine
+        Map<Long, Integer> perUser = new TreeMap<>();
+        for (User recipient : recipients) {
+            perUser.merge(recipient.getId(), 1, Integer::sum);
+        }
+        Map<Long, InboxCursorRepository.Position> positions = reserve(perUser);
+
+        List<InboxNotification> rows = new ArrayList<>(recipients.size());
+        perUser.forEach((userId, count) -> {
+            long seq = positions.get(userId).getLastSeq() - count;
+            for (int i = 0; i < count; i++) {
+                rows.add(new InboxNotification(userId, ++seq, message));
+            }
+        });
+        List<InboxNotification> saved = notificationRepository.saveAll(rows);
+        afterCommit(() -> {
+            for (InboxNotification row : saved) {
+                InboxCursorRepository.Position position = positions.get(row.getUserId());
+                UserInbox inbox = inbox(row.getUserId());
+                inbox.add(toItem(row));
+                inbox.sync(position.getLastSeq(), position.getAckedSeq());
+            }
+            perUser.keySet().forEach(userId -> liveUpdateService.changed(LiveUpdateService.userTopic(userId)));
+        });
+    }
+
+    //Solo memoria: senza transazione, quindi senza nemmeno prendere una connessione dal pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long getUnreadCount(Long userId) {
+        UserInbox inbox = inboxes.get(userId);
+        return inbox == null ? 0 : inbox.getUnreadCount();
+    }
+
+    /**
+     * Non lette, dalla più recente. Se sono tutte nel buffer si risponde dalla memoria,
+     * altrimenti (più non lette della capacità del buffer) dal database.
+     */
+    @Transactional(readOnly = true)
+    public List<InboxItem> getUnread(Long userId, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        UserInbox inbox = loaded(userId);
+        List<InboxItem> items = inbox.unread(size);
+        if (items.size() == size || inbox.holdsAllUnread()) {
+            return items;
+        }
+        return notificationRepository.findByUserIdAndSeqGreaterThanOrderBySeqDesc(
+                        userId, inbox.getAckedSeq(), PageRequest.of(0, size))
+                .stream().map(this::toItem).toList();
+    }
+
+    /**
+     * Segna come lette le notifiche fino alla posizione upToSeq compresa (tutte, se non indicata).
+     * Restituisce il numero di non lette rimaste.
+     */
+    public long acknowledge(Long userId, Long upToSeq) {
+        UserInbox inbox = loaded(userId);
+        long target = upToSeq != null ? upToSeq : inbox.getLastSeq();
+        if (target <= inbox.getAckedSeq()) {
+            return inbox.getUnreadCount();
+        }
+
+        cursorRepository.acknowledge(userId, target);
+        InboxCursorRepository.Position position = position(userId);
+        if (position == null) {
+            return 0;
+        }
+        afterCommit(() -> inbox.sync(position.getLastSeq(), position.getAckedSeq()));
+        return Math.max(0, position.getLastSeq() - position.getAckedSeq());
+    }
+
+    /**
+     * Allinea i contatori in memoria con le posizioni cambiate da altri nodi (o da questo).
+     * Legge dal primario: sulla replica le ultime consegne potrebbero non essere ancora arrivate.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.inbox.sync-ms:1000}")
+    public void syncPositions() {
+        LocalDateTime since = syncedUpTo == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : syncedUpTo.minus(SYNC_OVERLAP);
+        LocalDateTime latest = syncedUpTo;
+        for (InboxCursorRepository.Position position : cursorRepository.findChangedSince(since)) {
+            UserInbox inbox = position.getLastSeq() > position.getAckedSeq()
+                    ? inbox(position.getUserId())
+                    : inboxes.get(position.getUserId());
+            if (inbox != null) {
+                inbox.sync(position.getLastSeq(), position.getAckedSeq());
+            }
+            if (latest == null || position.getChangedAt().isAfter(latest)) {
+                latest = position.getChangedAt();
+            }
+        }
+        syncedUpTo = latest;
+    }
+
+    /**
+     * Riserva count posizioni per ogni utente con un solo UPDATE per gruppo (di solito tutti 1);
+     * chi non ha ancora una riga la riceve con le posizioni già riservate.
+     */
+    private Map<Long, InboxCursorRepository.Position> reserve(Map<Long, Integer> perUser) {
+        Map<Integer, List<Long>> byCount = new TreeMap<>();
+        perUser.forEach((userId, count) -> byCount.computeIfAbsent(count, c -> new ArrayList<>()).add(userId));
+        byCount.forEach((count, userIds) -> {
+            if (cursorRepository.advance(userIds, count) < userIds.size()) {
+                Set<Long> existing = new HashSet<>();
+                cursorRepository.findPositions(userIds).forEach(p -> existing.add(p.getUserId()));
+                cursorRepository.saveAll(userIds.stream()
+                        .filter(id -> !existing.contains(id))
+                        .map(id -> new InboxCursor(id, count))
+                        .toList());
+            }
+        });
+        Map<Long, InboxCursorRepository.Position> positions = new HashMap<>();
+        cursorRepository.findPositions(perUser.keySet()).forEach(p -> positions.put(p.getUserId(), p));
+        return positions;
+    }
+
+    private InboxCursorRepository.Position position(Long userId) {
+        List<InboxCursorRepository.Position> positions = cursorRepository.findPositions(List.of(userId));
+        return positions.isEmpty() ? null : positions.get(0);
+    }
+
+    private UserInbox inbox(Long userId) {
+        return inboxes.computeIfAbsent(userId, id -> new UserInbox(capacity));
+    }
+
+    //Inbox con il buffer riempito dal database al primo accesso (o dopo consegne di altri nodi)
+    private UserInbox loaded(Long userId) {
+        UserInbox inbox = inbox(userId);
+        if (!inbox.isLoaded()) {
+            List<InboxItem> recent = notificationRepository.findByUserIdOrderBySeqDesc(
+                            userId, PageRequest.of(0, capacity))
+                    .stream().map(this::toItem).toList();
+            InboxCursorRepository.Position position = position(userId);
+            inbox.load(recent, position == null ? 0 : position.getLastSeq(),
+                    position == null ? 0 : position.getAckedSeq());
+        }
+        return inbox;
+    }
+
+    private InboxItem toItem(InboxNotification row) {
+        return new InboxItem(row.getId(), row.getSeq(), row.getMessage(), row.getCreatedAt());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
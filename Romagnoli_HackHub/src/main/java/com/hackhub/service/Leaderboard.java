@@ -0,0 +1,174 @@
+package com.hackhub.service;
+
+import com.hackhub.dto.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Classifica di un hackathon: skip list con ampiezze dei salti (order-statistic),
+ * ordinata per punteggio decrescente e, a parità, per id del team crescente.
+ * Inserimento, rimozione e rank di un team costano O(log n); i primi K O(K).
+ */
+final class Leaderboard {
+
+    private static final int MAX_LEVEL = 24;
+
+    private final Node head = new Node(null, null, 0, MAX_LEVEL);
+    private final Map<Long, Node> byTeam = new HashMap<>();
+    private final long loadedAt = System.currentTimeMillis();
+    private int level = 1;
+    private int size;
+
+    synchronized void put(Long teamId, String teamName, double score) {
+        Node existing = byTeam.get(teamId);
+        if (existing != null) {
+            if (existing.score == score) {
+                return;
+            }
+            unlink(existing);
+        }
+
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && x.next[i].before(score, teamId)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(teamId, teamName, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+        byTeam.put(teamId, node);
+    }
+
+    synchronized void remove(Long teamId) {
+        Node node = byTeam.get(teamId);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    //Rank a partire da 1, null se il team non è in classifica
+    synchronized LeaderboardEntry entryOf(Long teamId) {
+        Node target = byTeam.get(teamId);
+        if (target == null) {
+            return null;
+        }
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (x.next[i] == target || x.next[i].before(target.score, target.teamId))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x == target) {
+                return target.toEntry(rank);
+            }
+        }
+        return null;
+    }
+
+    synchronized List<LeaderboardEntry> top(int k) {
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.min(k, size));
+        Node x = head.next[0];
+        while (x != null && entries.size() < k) {
+            entries.add(x.toEntry(entries.size() + 1));
+            x = x.next[0];
+        }
+        return entries;
+    }
+
+    boolean loadedBefore(long timeMillis) {
+        return loadedAt < timeMillis;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void unlink(Node node) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].before(node.score, node.teamId)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        byTeam.remove(node.teamId);
+    }
+
+    private static int randomLevel() {
+        int lvl = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (lvl < MAX_LEVEL && random.nextBoolean()) {
+            lvl++;
+        }
+        return lvl;
+    }
+
+    private static final class Node {
+        final Long teamId;
+        final String teamName;
+        final double score;
+        final Node[] next;
+        final int[] span;
+
+        Node(Long teamId, String teamName, double score, int level) {
+            this.teamId = teamId;
+            this.teamName = teamName;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+        //Questo nodo viene prima della posizione (score, teamId)?
+        boolean before(double otherScore, Long otherTeamId) {
+            int cmp = Double.compare(otherScore, score);
+            return cmp < 0 || (cmp == 0 && teamId < otherTeamId);
+        }
+
+        LeaderboardEntry toEntry(int rank) {
+            return new LeaderboardEntry(rank, teamId, teamName, score);
+        }
+    }
+}
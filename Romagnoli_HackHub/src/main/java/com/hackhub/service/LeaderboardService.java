@@ -0,0 +1,129 @@
+package com.hackhub.service;
+
+import com.hackhub.dto.LeaderboardEntry;
+import com.hackhub.repository.HackathonRepository;
+import com.hackhub.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classifiche in memoria per hackathon. Ogni classifica viene caricata dal database
+ * al primo accesso e poi aggiornata a ogni valutazione, dopo il commit.
+ * Le valutazioni fatte su altri nodi non arrivano qui: dopo max-age-ms la classifica
+ * viene scartata e ricaricata, quindi vale per la consultazione ma non per decidere
+ * il vincitore, che si legge dal database.
+ */
+@Service
+@Transactional
+public class LeaderboardService {
+
+    public static final int DEFAULT_TOP = 10;
+    public static final int MAX_TOP = 100;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private HackathonRepository hackathonRepository;
+
+    private final ConcurrentHashMap<Long, Leaderboard> boards = new ConcurrentHashMap<>();
+
+    @Value("${app.leaderboard.max-age-ms:60000}")
+    private long maxAgeMs;
+
+    //Non readOnly: il caricamento deve leggere dal primario, una replica in ritardo perderebbe valutazioni
+    public List<LeaderboardEntry> getTop(Long hackathonId, Integer top) {
+        int k = top == null ? DEFAULT_TOP : Math.max(1, Math.min(top, MAX_TOP));
+        return board(hackathonId).top(k);
+    }
+
+    public LeaderboardEntry getRank(Long hackathonId, Long teamId) {
+        LeaderboardEntry entry = board(hackathonId).entryOf(teamId);
+        if (entry == null) {
+            throw new RuntimeException("Team non in classifica");
+        }
+        return entry;
+    }
+
+    /**
+     * Aggiorna la posizione di un team; score null lo toglie dalla classifica.
+     * Se la classifica non è ancora caricata non serve fare nulla: la leggerà dal database.
+     */
+    public void scoreChanged(Long hackathonId, Long teamId, String teamName, Double score) {
+        afterCommit(() -> boards.computeIfPresent(hackathonId, (id, board) -> {
+            if (score == null) {
+                board.remove(teamId);
+            } else {
+                board.put(teamId, teamName, score);
+            }
+            return board;
+        }));
+    }
+
+    public void teamRemoved(Long hackathonId, Long teamId) {
+        scoreChanged(hackathonId, teamId, null, null);
+    }
+
+    //Hackathon concluso: la classifica non cambia più e non serve tenerla in memoria
+    public void evict(Long hackathonId) {
+        afterCommit(() -> boards.remove(hackathonId));
+    }
+
+    //Scarta le classifiche più vecchie di max-age-ms; le richieste successive le ricaricano dal database
+    @Scheduled(fixedDelayString = "${app.leaderboard.max-age-ms:60000}")
+    public void evictExpired() {
+        long limit = System.currentTimeMillis() - maxAgeMs;
+        boards.values().removeIf(board -> board.loadedBefore(limit));
+    }
+
+    //Sostituisce la classifica con una già calcolata, ad esempio dal replay del journal
+    public void reload(Long hackathonId, List<LeaderboardEntry> ranking) {
+        Leaderboard board = new Leaderboard();
+        for (LeaderboardEntry entry : ranking) {
+            board.put(entry.teamId(), entry.teamName(), entry.score());
+        }
+        afterCommit(() -> boards.put(hackathonId, board));
+    }
+
+    private Leaderboard board(Long hackathonId) {
+        Leaderboard board = boards.get(hackathonId);
+        if (board != null && !board.loadedBefore(System.currentTimeMillis() - maxAgeMs)) {
+            return board;
+        }
+        if (!hackathonRepository.existsById(hackathonId)) {
+            throw new RuntimeException("Hackathon non trovato");
+        }
+        return boards.compute(hackathonId, (id, current) ->
+                current != null && !current.loadedBefore(System.currentTimeMillis() - maxAgeMs) ? current : load(id));
+    }
+
+    private Leaderboard load(Long hackathonId) {
+        Leaderboard board = new Leaderboard();
+        for (var row : teamRepository.findScoresByHackathonId(hackathonId)) {
+            board.put(row.getId(), row.getName(), row.getScore());
+        }
+        System.out.println("Classifica hackathon " + hackathonId + " caricata: " + board.size() + " team");
+        return board;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package com.hackhub.service;
+
+import com.hackhub.dto.InboxItem;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.model.HackathonJournalHead;
+import com.hackhub.model.InboxNotification;
+import com.hackhub.repository.HackathonEventRepository;
+import com.hackhub.repository.HackathonJournalHeadRepository;
+import com.hackhub.repository.InboxCursorRepository;
+import com.hackhub.repository.InboxNotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Aggiornamenti in tempo reale via Server-Sent Events, per topic:
+ * "hackathon:{id}" (eventi del journal: stato, giudice, vincitore, team...) e "user:{id}" (notifiche in-app).
+ *
+ * Gli eventi si leggono dalle tabelle condivise da tutti i nodi, non dalla memoria di chi li ha scritti:
+ * il journal dell'hackathon per versione e l'inbox dell'utente per posizione, entrambe in ordine di commit.
+ * Ogni poll-ms si confrontano le teste dei topic con client su questo nodo; chi scrive sul nodo
+ * avvisa dopo il commit (changed), così localmente l'evento parte subito.
+ *
+ * Le connessioni aperte sono richieste asincrone del servlet container: una connessione
+ * inattiva non occupa thread, solo il socket e l'oggetto SseEmitter. Ogni client ha la sua
+ * coda limitata, svuotata da un thread di scrittura alla volta (quindi in ordine); un client
+ * lento riempie solo la propria coda e viene disconnesso, senza fermare gli altri.
+ *
+ * L'id di ogni evento è la posizione del client in tutti i suoi topic ("hackathon:1=5,user:4=12"):
+ * alla riconnessione, su qualunque nodo, il client manda Last-Event-ID e riceve dal database gli
+ * eventi persi. Se sono più di replay-size, o l'id non è valido, riceve un evento "reset" e ricarica lo stato.
+ * Un topic esiste in memoria solo finché ha client collegati.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final String HACKATHON = "hackathon:";
+    private static final String USER = "user:";
+
+    public static String hackathonTopic(Long hackathonId) {
+        return HACKATHON + hackathonId;
+    }
+
+    public static String userTopic(Long userId) {
+        return USER + userId;
+    }
+
+    //Evento di un topic con la sua posizione (versione del journal o posizione nell'inbox)
+    private record LiveEvent(long position, String name, Map<String, Object> data) {}
+
+    private static final class Topic {
+        final String name;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // Ultima posizione inoltrata ai client di questo nodo, -1 finché non è letta la testa
+        long position = -1;
+
+        Topic(String name) {
+            this.name = name;
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final List<String> topics;
+        // Posizione già accodata per topic; manca finché il topic non ha fatto il replay
+        final Map<String, Long> positions = new LinkedHashMap<>();
+        final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        boolean draining;
+        boolean closed;
+        // Inizio dell'invio in corso (System.nanoTime), 0 se nessuno
+        volatile long sendingSince;
+
+        Subscriber(SseEmitter emitter, List<String> topics) {
+            this.emitter = emitter;
+            this.topics = topics;
+        }
+
+        synchronized void start(String topic, long position) {
+            positions.put(topic, position);
+        }
+
+        //Evento di un topic: scartato se il client lo ha già o se il topic non ha ancora fatto il replay
+        synchronized void offer(String topic, LiveEvent event) {
+            Long position = positions.get(topic);
+            if (position == null || event.position() <= position) {
+                return;
+            }
+            positions.put(topic, event.position());
+            offer(SseEmitter.event().id(cursor()).name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+        }
+
+        synchronized void reset(String topic, long position) {
+            positions.put(topic, position);
+            offer(SseEmitter.event().id(cursor()).name("reset")
+                    .data(Map.of("topic", topic, "reason", "eventi persi, ricaricare lo stato"), MediaType.APPLICATION_JSON));
+        }
+
+        //Accoda senza bloccare; con la coda piena il client è troppo lento e viene disconnesso
+        synchronized void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() >= queueCapacity) {
+                slowDisconnects.increment();
+                close();
+                return;
+            }
+            pending.addLast(event);
+            if (!draining) {
+                draining = true;
+                writers.execute(this::drain);
+            }
+        }
+
+        //Un solo drain per client alla volta: gli eventi escono nell'ordine di accodamento
+        private void drain() {
+            boolean complete;
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = closed ? null : pending.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        complete = closed;
+                        break;
+                    }
+                }
+                sendingSince = System.nanoTime();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                } finally {
+                    sendingSince = 0;
+                }
+            }
+            if (complete) {
+                // complete() attende un eventuale invio in corso: se era in corso lo chiama chi scrive
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Smette di accodare e libera la coda. La connessione si chiude subito se nessun invio è
+         * in corso, altrimenti al termine dell'invio (che il container interrompe al timeout di scrittura).
+         */
+        void close() {
+            boolean idle;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+                idle = !draining;
+            }
+            unsubscribe(this);
+            if (idle) {
+                emitter.complete();
+            }
+        }
+
+        boolean sendingLongerThan(long nanos) {
+            long since = sendingSince;
+            return since != 0 && System.nanoTime() - since > nanos;
+        }
+
+        private String cursor() {
+            return positions.entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(Collectors.joining(","));
+        }
+    }
+
+    @Autowired
+    private HackathonEventRepository eventRepository;
+
+    @Autowired
+    private HackathonJournalHeadRepository headRepository;
+
+    @Autowired
+    private InboxNotificationRepository notificationRepository;
+
+    @Autowired
+    private InboxCursorRepository cursorRepository;
+
+    // Letture in transazione di scrittura, quindi dal primario: sulla replica gli ultimi eventi potrebbero mancare
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers;
+    private final ExecutorService poller = Executors.newSingleThreadExecutor(r -> new Thread(r, "live-poll"));
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+
+    @Value("${app.live.replay-size:100}")
+    private int replaySize;
+
+    @Value("${app.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.live.subscriber-queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.live.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    public LiveUpdateService(@Value("${app.live.writer-threads:4}") int writerThreads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads,
+                r -> new Thread(r, "live-writer-" + counter.incrementAndGet()));
+    }
+
+    public SseEmitter subscribe(List<String> topicNames, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, List.copyOf(topicNames));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        Map<String, Long> resume = parseCursor(lastEventId);
+        boolean invalid = lastEventId != null && !lastEventId.isBlank() && resume.isEmpty();
+        subscribers.add(subscriber);
+        subscriber.offer(SseEmitter.event().comment("connesso"));
+        try {
+            for (String name : subscriber.topics) {
+                attach(subscriber, name, resume.get(name), invalid);
+            }
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * Collega il client al topic. Sotto il lock del topic, come l'inoltro dei nuovi eventi: il replay
+     * dal database arriva fino alla testa corrente, quindi tra replay e inoltro non restano buchi.
+     */
+    private void attach(Subscriber subscriber, String name, Long resumeAfter, boolean invalid) {
+        Topic topic = topics.compute(name, (key, existing) -> {
+            Topic current = existing != null ? existing : new Topic(key);
+            current.subscribers.add(subscriber);
+            return current;
+        });
+        synchronized (topic) {
+            if (topic.position < 0) {
+                topic.position = heads(List.of(name)).getOrDefault(name, 0L);
+            }
+            if (invalid) {
+                subscriber.reset(name, topic.position);
+                return;
+            }
+            if (resumeAfter == null) {
+                subscriber.start(name, topic.position);
+                return;
+            }
+            List<LiveEvent> missed = read(name, resumeAfter, replaySize + 1);
+            if (missed.size() > replaySize) {
+                subscriber.reset(name, topic.position);
+                return;
+            }
+            subscriber.start(name, resumeAfter);
+            missed.forEach(event -> subscriber.offer(name, event));
+        }
+    }
+
+    /**
+     * Segnala che il topic ha nuovi eventi appena committati su questo nodo. Se nessun client
+     * locale lo segue non fa nulla; gli altri nodi li vedono al prossimo poll.
+     */
+    public void changed(String topicName) {
+        Topic topic = topics.get(topicName);
+        if (topic != null) {
+            poller.execute(() -> pull(topic));
+        }
+    }
+
+    //Topic con client su questo nodo rimasti indietro rispetto al database (eventi scritti da altri nodi)
+    @Scheduled(fixedDelayString = "${app.live.poll-ms:1000}")
+    public void poll() {
+        if (topics.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Long> heads = heads(topics.keySet());
+            for (Topic topic : List.copyOf(topics.values())) {
+                if (heads.getOrDefault(topic.name, 0L) > topic.position) {
+                    pull(topic);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Lettura degli aggiornamenti live fallita: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Commento SSE periodico: tiene aperti proxy e load balancer e scopre le connessioni cadute.
+     * Disconnette anche i client con un invio fermo da più di send-timeout-ms.
+     */
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long sendTimeout = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            if (subscriber.sendingLongerThan(sendTimeout)) {
+                slowDisconnects.increment();
+                subscriber.close();
+            } else {
+                subscriber.offer(SseEmitter.event().comment("hb"));
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connections", subscribers.size());
+        stats.put("topics", topics.size());
+        stats.put("delivered", delivered.sum());
+        stats.put("slowDisconnects", slowDisconnects.sum());
+        return stats;
+    }
+
+    //Inoltra ai client del topic gli eventi successivi all'ultima posizione inoltrata
+    private void pull(Topic topic) {
+        synchronized (topic) {
+            if (topic.position < 0) {
+                return;
+            }
+            List<LiveEvent> events;
+            do {
+                events = read(topic.name, topic.position, replaySize);
+                for (LiveEvent event : events) {
+                    for (Subscriber subscriber : topic.subscribers) {
+                        subscriber.offer(topic.name, event);
+                    }
+                    topic.position = event.position();
+                    delivered.increment();
+                }
+            } while (events.size() == replaySize);
+        }
+    }
+
+    //Il topic sparisce con l'ultimo client: senza client non tiene memoria né viene interrogato
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            for (String name : subscriber.topics) {
+                topics.computeIfPresent(name, (key, topic) -> {
+                    topic.subscribers.remove(subscriber);
+                    return topic.subscribers.isEmpty() ? null : topic;
+                });
+            }
+        }
+    }
+
+    // ========== LETTURE DALLE TABELLE CONDIVISE ==========
+
+    //Ultima posizione di ogni topic: una query per tipo di topic
+    private Map<String, Long> heads(Iterable<String> names) {
+        List<Long> hackathonIds = new ArrayList<>();
+        List<Long> userIds = new ArrayList<>();
+        for (String name : names) {
+            if (name.startsWith(HACKATHON)) {
+                hackathonIds.add(Long.valueOf(name.substring(HACKATHON.length())));
+            } else {
+                userIds.add(Long.valueOf(name.substring(USER.length())));
+            }
+        }
+        Map<String, Long> heads = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!hackathonIds.isEmpty()) {
+                for (HackathonJournalHead head : headRepository.findByHackathonIdIn(hackathonIds)) {
+                    heads.put(hackathonTopic(head.getHackathonId()), head.getVersion());
+                }
+            }
+            if (!userIds.isEmpty()) {
+                for (InboxCursorRepository.Position position : cursorRepository.findPositions(userIds)) {
+                    heads.put(userTopic(position.getUserId()), position.getLastSeq());
+                }
+            }
+        });
+        return heads;
+    }
+
+    private List<LiveEvent> read(String name, long after, int limit) {
+        return transactionTemplate.execute(status -> {
+            if (name.startsWith(HACKATHON)) {
+                Long hackathonId = Long.valueOf(name.substring(HACKATHON.length()));
+                return eventRepository.findByHackathonIdAndVersionGreaterThanOrderByVersionAsc(
+                                hackathonId, after, PageRequest.of(0, limit))
+                        .stream().map(event -> toLiveEvent(name, event)).toList();
+            }
+            Long userId = Long.valueOf(name.substring(USER.length()));
+            List<InboxNotification> rows = notificationRepository.findByUserIdAndSeqGreaterThanOrderBySeqAsc(
+                    userId, after, PageRequest.of(0, limit));
+            if (rows.isEmpty()) {
+                return List.<LiveEvent>of();
+            }
+            // Non lette al momento della lettura
+            long unread = cursorRepository.findPositions(List.of(userId)).stream()
+                    .mapToLong(position -> Math.max(0, position.getLastSeq() - position.getAckedSeq()))
+                    .findFirst().orElse(0);
+            return rows.stream().map(row -> {
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("topic", name);
+                data.put("notification", new InboxItem(row.getId(), row.getSeq(), row.getMessage(), row.getCreatedAt()));
+                data.put("unreadCount", unread);
+                return new LiveEvent(row.getSeq(), "notification", data);
+            }).toList();
+        });
+    }
+
+    //Stato, giudice e vincitore con i nomi di sempre; gli altri eventi del journal col loro tipo
+    private static LiveEvent toLiveEvent(String topic, HackathonEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("topic", topic);
+        data.put("hackathonId", event.getHackathonId());
+        data.put("version", event.getVersion());
+        String name;
+        switch (event.getType()) {
+            case STATUS_CHANGED -> {
+                name = "status";
+                data.put("oldStatus", event.getOldValue());
+                data.put("newStatus", event.getNewValue());
+            }
+            case JUDGE_ASSIGNED -> {
+                name = "judge";
+                data.put("judgeId", event.getUserId());
+            }
+            case WINNER_DECLARED -> {
+                name = "winner";
+                data.put("winnerTeamId", event.getTeamId());
+            }
+            default -> {
+                name = event.getType().name().toLowerCase();
+                putIfPresent(data, "teamId", event.getTeamId());
+                putIfPresent(data, "userId", event.getUserId());
+                putIfPresent(data, "value", event.getNewValue());
+                putIfPresent(data, "score", event.getScore());
+            }
+        }
+        data.put("occurredAt", event.getOccurredAt());
+        return new LiveEvent(event.getVersion(), name, data);
+    }
+
+    private static void putIfPresent(Map<String, Object> data, String key, Object value) {
+        if (value != null) {
+            data.put(key, value);
+        }
+    }
+
+    //Posizioni da cui riprendere, per topic; vuota se l'id manca o non è valido
+    private static Map<String, Long> parseCursor(String lastEventId) {
+        Map<String, Long> positions = new HashMap<>();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return positions;
+        }
+        for (String part : lastEventId.split(",")) {
+            int equals = part.lastIndexOf('=');
+            if (equals < 0) {
+                return Map.of();
+            }
+            try {
+                positions.put(part.substring(0, equals).trim(), Long.valueOf(part.substring(equals + 1).trim()));
+            } catch (NumberFormatException e) {
+                return Map.of();
+            }
+        }
+        return positions;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        writers.shutdownNow();
+        List.copyOf(subscribers).forEach(Subscriber::close);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hackhub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template di messaggio già analizzato: testo fisso e segnaposto {nome} in una lista
+ * di parti, così il rendering è una sola passata con StringBuilder, senza riparsing.
+ */
+final class MessageTemplate {
+
+    private final String[] literals;   // literals[i] precede il segnaposto i; l'ultimo chiude il testo
+    private final String[] names;
+    private final int fixedLength;
+
+    private MessageTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.fixedLength = length;
+    }
+
+    static MessageTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int close = c == '{' ? text.indexOf('}', i) : -1;
+            if (close > i + 1 && isName(text, i + 1, close)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                names.add(text.substring(i + 1, close));
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(literals.toArray(String[]::new), names.toArray(String[]::new));
+    }
+
+    String render(Map<String, String> params) {
+        StringBuilder out = new StringBuilder(fixedLength + 16 * names.length);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            String value = params.get(names[i]);
+            if (value == null) {
+                throw new IllegalStateException("Parametro mancante nel template: " + names[i]);
+            }
+            out.append(value);
+        }
+        return out.append(literals[names.length]).toString();
+    }
+
+    private static boolean isName(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
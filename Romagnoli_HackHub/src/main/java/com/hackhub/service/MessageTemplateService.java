@@ -0,0 +1,115 @@
+package com.hackhub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Testi delle notifiche da notifications/messages[_lingua].properties.
+ * Ogni template è analizzato una volta per lingua; il testo renderizzato è tenuto in una
+ * cache limitata per (template, lingua, parametri), quindi lo stesso evento di uno stesso
+ * hackathon produce un solo messaggio condiviso da tutti i destinatari.
+ */
+@Service
+public class MessageTemplateService {
+
+    private static final String BASENAME = "notifications/messages";
+
+    private final Locale defaultLocale;
+    private final Map<Locale, Properties> bundles = new ConcurrentHashMap<>();
+    private final Map<Locale, Map<String, MessageTemplate>> compiled = new ConcurrentHashMap<>();
+    private final Map<Locale, DateTimeFormatter> dateFormatters = new ConcurrentHashMap<>();
+    private final Map<RenderKey, String> rendered;
+
+    private record RenderKey(String key, Locale locale, Map<String, String> params) {}
+
+    public MessageTemplateService(@Value("${app.notifications.locale:it}") String locale,
+                                  @Value("${app.notifications.rendered-cache-size:1000}") int cacheSize) {
+        this.defaultLocale = Locale.forLanguageTag(locale);
+        this.rendered = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RenderKey, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    public String render(String key, Map<String, ?> params) {
+        return render(key, defaultLocale, params);
+    }
+
+    public String render(String key, Locale locale, Map<String, ?> params) {
+        Map<String, String> values = new HashMap<>();
+        params.forEach((name, value) -> values.put(name, format(value, locale)));
+        return rendered.computeIfAbsent(new RenderKey(key, locale, values),
+                k -> template(key, locale).render(values));
+    }
+
+    //Testo senza parametri (es. la descrizione di uno stato)
+    public String text(String key, Locale locale) {
+        return template(key, locale).render(Map.of());
+    }
+
+    private String format(Object value, Locale locale) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof TemporalAccessor temporal) {
+            return dateFormatters.computeIfAbsent(locale,
+                    l -> DateTimeFormatter.ofPattern(raw("format.datetime", l), l)).format(temporal);
+        }
+        return value.toString();
+    }
+
+    private MessageTemplate template(String key, Locale locale) {
+        return compiled.computeIfAbsent(locale, l -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> MessageTemplate.compile(raw(k, locale)));
+    }
+
+    //Cerca la chiave nel file della lingua, poi in quello di default (messages.properties)
+    private String raw(String key, Locale locale) {
+        String text = bundle(locale).getProperty(key);
+        if (text == null) {
+            text = bundle(Locale.ROOT).getProperty(key);
+        }
+        if (text == null) {
+            throw new RuntimeException("Template di notifica non trovato: " + key);
+        }
+        return text;
+    }
+
+    private Properties bundle(Locale locale) {
+        return bundles.computeIfAbsent(locale, l -> {
+            String file = l.getLanguage().isEmpty() ? BASENAME + ".properties"
+                    : BASENAME + "_" + l.getLanguage() + ".properties";
+            Properties properties = new Properties();
+            ClassPathResource resource = new ClassPathResource(file);
+            if (resource.exists()) {
+                try {
+                    PropertiesLoaderUtils.fillProperties(properties, new EncodedResource(resource, StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new RuntimeException("Impossibile leggere " + file, e);
+                }
+            }
+            return properties;
+        });
+    }
+}
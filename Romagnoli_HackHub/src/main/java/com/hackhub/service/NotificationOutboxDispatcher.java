@@ -0,0 +1,186 @@
+package com.hackhub.service;
+
+import com.hackhub.model.NotificationOutbox;
+import com.hackhub.model.NotificationOutboxStatus;
+import com.hackhub.model.User;
+import com.hackhub.pattern.strategy.NotificationContext;
+import com.hackhub.repository.NotificationOutboxRepository;
+import com.hackhub.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consegna le notifiche dell'outbox attraverso le strategie di NotificationContext,
+ * raggruppando per canale e messaggio le righe dello stesso lotto.
+ * A ogni giro prende un lotto di righe scadute (SKIP LOCKED, quindi anche da più nodi
+ * insieme) e ne sposta in avanti il prossimo tentativo: è il lease del lotto. Se il nodo
+ * muore durante la consegna, le righe tornano disponibili alla scadenza del lease.
+ * I fallimenti sono ritentati con backoff esponenziale fino a max-attempts; i duplicati
+ * esatti di una consegna recente (stesso destinatario, canale e messaggio) sono scartati.
+ */
+@Service
+public class NotificationOutboxDispatcher {
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationContext notificationContext;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.notifications.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.notifications.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${app.notifications.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.outbox.backoff-ms:1000}")
+    private long backoffMs;
+
+    @Value("${app.notifications.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${app.notifications.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${app.notifications.dedup.capacity:10000}")
+    private int dedupCapacity;
+
+    @Value("${app.notifications.dedup.ttl-ms:600000}")
+    private long dedupTtlMs;
+
+    private RecentDeliveries recentDeliveries;
+    private final LongAdder deduplicated = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        recentDeliveries = new RecentDeliveries(dedupCapacity, dedupTtlMs);
+    }
+
+    public long getDeduplicatedCount() {
+        return deduplicated.sum();
+    }
+
+    //Svuota i lotti pieni uno dopo l'altro, poi attende il giro successivo
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-ms:500}")
+    public void dispatch() {
+        try {
+            while (dispatchBatch() == batchSize) {
+                // lotto pieno: probabilmente ce ne sono altre
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Dispatcher outbox fallito: " + e.getMessage());
+        }
+    }
+
+    private int dispatchBatch() {
+        List<NotificationOutbox> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutbox> rows = outboxRepository.lockDue(now, batchSize);
+            rows.forEach(row -> row.setNextAttemptAt(now.plusSeconds(leaseSeconds)));
+            return rows;
+        });
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Destinatari in una sola query (gli utenti sono anche in cache di secondo livello)
+        Map<Long, User> recipients = userRepository.findAllById(
+                        batch.stream().map(NotificationOutbox::getRecipientId).distinct().toList())
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Righe con stesso canale e messaggio (es. il fan-out di un cambio stato): un solo invio di gruppo
+        Map<Delivery, List<NotificationOutbox>> groups = new LinkedHashMap<>();
+        for (NotificationOutbox row : batch) {
+            groups.computeIfAbsent(new Delivery(row.getChannel(), row.getMessage()), k -> new ArrayList<>()).add(row);
+        }
+
+        List<Long> sent = new ArrayList<>();
+        Map<Long, String> failed = new HashMap<>();
+        groups.forEach((delivery, rows) -> {
+            List<Long> ids = new ArrayList<>();
+            List<User> users = new ArrayList<>();
+            Set<Long> recipientIds = new HashSet<>();
+            for (NotificationOutbox row : rows) {
+                User recipient = recipients.get(row.getRecipientId());
+                if (recipient == null) {
+                    failed.put(row.getId(), "Destinatario " + row.getRecipientId() + " non trovato");
+                } else if (!recipientIds.add(recipient.getId())
+                        || recentDeliveries.contains(recipient.getId(), delivery.channel(), delivery.message())) {
+                    // Duplicato esatto di una consegna appena fatta: chiusa senza reinviare
+                    sent.add(row.getId());
+                    deduplicated.increment();
+                } else {
+                    ids.add(row.getId());
+                    users.add(recipient);
+                }
+            }
+            if (users.isEmpty()) {
+                return;
+            }
+            try {
+                notificationContext.sendToAll(delivery.channel(), delivery.message(), users);
+                sent.addAll(ids);
+                users.forEach(user -> recentDeliveries.add(user.getId(), delivery.channel(), delivery.message()));
+            } catch (RuntimeException e) {
+                String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+                ids.forEach(id -> failed.put(id, error));
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.markSent(sent, LocalDateTime.now());
+            }
+            for (NotificationOutbox row : outboxRepository.findAllById(failed.keySet())) {
+                row.recordFailure(failed.get(row.getId()), maxAttempts, backoffFor(row.getAttempts() + 1));
+                if (row.getStatus() == NotificationOutboxStatus.DEAD) {
+                    System.err.println("Notifica " + row.getId() + " abbandonata dopo "
+                            + row.getAttempts() + " tentativi: " + row.getLastError());
+                }
+            }
+        });
+        return batch.size();
+    }
+
+    private record Delivery(String channel, String message) {}
+
+    //Backoff esponenziale: backoff-ms, poi il doppio a ogni tentativo, fino a max-backoff-ms
+    private long backoffFor(int attempt) {
+        long backoff = backoffMs << Math.min(attempt - 1, 20);
+        return Math.min(backoff, maxBackoffMs);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        int deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteCompletedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted > 0) {
+            System.out.println("Outbox: eliminate " + deleted + " notifiche consegnate o superate");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.hackhub.service;
+
+import com.hackhub.dto.CursorPage;
+import com.hackhub.model.HackathonEventType;
+import com.hackhub.model.NotificationOutbox;
+import com.hackhub.model.NotificationOutboxStatus;
+import com.hackhub.model.User;
+import com.hackhub.repository.NotificationOutboxRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accoda le notifiche nell'outbox, nella transazione del chiamante.
+ * La consegna vera e propria è di NotificationOutboxDispatcher.
+ */
+@Service
+@Transactional
+public class NotificationOutboxService {
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationOutboxDispatcher dispatcher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.notifications.coalesce.window-ms:5000}")
+    private long coalesceWindowMs;
+
+    public NotificationOutbox enqueue(String type, String message, User recipient) {
+        return outboxRepository.save(new NotificationOutbox(type.toUpperCase(), message, recipient.getId()));
+    }
+
+    public List<NotificationOutbox> enqueueAll(String type, String message, Iterable<User> recipients) {
+        List<NotificationOutbox> rows = new ArrayList<>();
+        for (User recipient : recipients) {
+            rows.add(new NotificationOutbox(type.toUpperCase(), message, recipient.getId()));
+        }
+        return outboxRepository.saveAll(rows);
+    }
+
+    /**
+     * Come enqueueAll, ma con una chiave di coalescenza (hackathon e tipo di evento): la consegna
+     * attende window-ms e le notifiche ancora in attesa con la stessa chiave per gli stessi
+     * destinatari vengono sostituite, così una raffica di cambi produce un solo messaggio.
+     * Usata dal fan-out a blocchi: le righe scritte vengono staccate dal contesto di persistenza,
+     * così la memoria resta limitata anche quando la stessa transazione accoda decine di migliaia di notifiche.
+     */
+    public void enqueueCoalesced(String type, String message, Collection<Long> recipientIds, String coalesceKey) {
+        if (recipientIds.isEmpty()) {
+            return;
+        }
+        int superseded = outboxRepository.supersede(coalesceKey, recipientIds);
+        if (superseded > 0) {
+            System.out.println("Outbox: " + superseded + " notifiche " + coalesceKey + " sostituite");
+        }
+
+        List<NotificationOutbox> rows = new ArrayList<>(recipientIds.size());
+        for (Long recipientId : recipientIds) {
+            rows.add(new NotificationOutbox(type.toUpperCase(), message, recipientId)
+                    .coalesced(coalesceKey, coalesceWindowMs));
+        }
+        outboxRepository.saveAll(rows);
+        entityManager.flush();
+        rows.forEach(entityManager::detach);
+    }
+
+    public static String coalesceKey(Long hackathonId, HackathonEventType eventType) {
+        return "hackathon:" + hackathonId + ":" + eventType.name();
+    }
+
+    //Notifiche che hanno esaurito i tentativi, con l'ultimo errore
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationOutbox> getDeadLetters(String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<NotificationOutbox> rows = outboxRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                NotificationOutboxStatus.DEAD, CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, NotificationOutbox::getId);
+    }
+
+    public NotificationOutbox retry(Long id) {
+        NotificationOutbox row = outboxRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Notifica non trovata"));
+        if (row.getStatus() != NotificationOutboxStatus.DEAD) {
+            throw new RuntimeException("La notifica non è tra quelle fallite");
+        }
+        row.requeue();
+        return row;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (NotificationOutboxStatus status : NotificationOutboxStatus.values()) {
+            stats.put(status.name().toLowerCase(), 0L);
+        }
+        for (NotificationOutboxRepository.StatusCount row : outboxRepository.countByStatus()) {
+            stats.put(row.getStatus().name().toLowerCase(), row.getCount());
+        }
+        stats.put("deduplicated", dispatcher.getDeduplicatedCount());
+        LocalDateTime oldestPending = outboxRepository.findOldestPendingCreatedAt();
+        stats.put("oldestPendingAgeMs", oldestPending == null
+                ? 0L : Duration.between(oldestPending, LocalDateTime.now()).toMillis());
+        return stats;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hackhub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Insieme limitato delle consegne recenti (destinatario, canale, messaggio), per scartare
+ * i duplicati esatti. Oltre la capacità escono le voci meno recenti; una voce vale ttlMs.
+ * Del messaggio si tiene solo il digest SHA-256, non il testo: con hashCode e lunghezza due
+ * messaggi diversi potevano coincidere e il secondo sarebbe stato scartato senza essere inviato.
+ */
+final class RecentDeliveries {
+
+    private record Key(Long recipientId, String channel, String messageDigest) {}
+
+    private final Map<Key, Long> seen;
+    private final long ttlMs;
+
+    RecentDeliveries(int capacity, long ttlMs) {
+        this.ttlMs = ttlMs;
+        this.seen = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized boolean contains(Long recipientId, String channel, String message) {
+        Long deliveredAt = seen.get(key(recipientId, channel, message));
+        return deliveredAt != null && System.currentTimeMillis() - deliveredAt < ttlMs;
+    }
+
+    synchronized void add(Long recipientId, String channel, String message) {
+        seen.put(key(recipientId, channel, message), System.currentTimeMillis());
+    }
+
+    private Key key(Long recipientId, String channel, String message) {
+        return new Key(recipientId, channel, digest(message));
+    }
+
+    private static String digest(String message) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(message.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 è obbligatorio in ogni JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
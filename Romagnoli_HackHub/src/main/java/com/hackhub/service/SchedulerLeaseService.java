@@ -0,0 +1,160 @@
+package com.hackhub.service;
+
+import com.hackhub.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Elezione del nodo che esegue i job schedulati, tramite lease su database.
+ * Ogni nodo rinnova o tenta di prendere i lease a ogni heartbeat; se il proprietario
+ * si ferma, un altro nodo subentra alla scadenza del TTL (subito, se si chiude in modo pulito).
+ * L'evento di acquisizione è pubblicato su un thread dello scheduler: i job che vi reagiscono
+ * non rallentano l'heartbeat e un loro errore non fa perdere il lease.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    public static final String HACKATHON_LIFECYCLE = "hackathon-lifecycle";
+
+    private static final List<String> LEASES = List.of(HACKATHON_LIFECYCLE);
+
+    //Evento pubblicato quando questo nodo diventa proprietario di un lease
+    public record LeaseAcquired(String name, long fencingToken) {}
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${app.scheduler.lease-ttl-seconds:15}")
+    private long ttlSeconds;
+
+    private final String nodeId;
+
+    // Lease posseduti da questo nodo, con il token ottenuto alla presa
+    private final Map<String, Long> held = new ConcurrentHashMap<>();
+
+    public SchedulerLeaseService(@Value("${app.scheduler.node-id:}") String nodeId) {
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.heartbeat-ms:5000}")
+    public void heartbeat() {
+        for (String name : LEASES) {
+            Long acquired;
+            try {
+                acquired = refresh(name);
+            } catch (RuntimeException e) {
+                // Senza database non si può sapere se il lease è ancora nostro
+                held.remove(name);
+                System.err.println("Heartbeat lease " + name + " fallito: " + e.getMessage());
+                continue;
+            }
+            if (acquired != null) {
+                announce(name, acquired);
+            }
+        }
+    }
+
+    //Token del lease appena acquisito, null se rinnovato o non posseduto
+    private Long refresh(String name) {
+        Long previous = held.get(name);
+        Long token = transactionTemplate.execute(status -> {
+            if (previous != null && leaseRepository.renew(name, nodeId, ttlSeconds) == 1) {
+                return previous;
+            }
+            if (leaseRepository.takeOver(name, nodeId, ttlSeconds) == 1) {
+                return leaseRepository.findById(name).orElseThrow().getFencingToken();
+            }
+            return null;
+        });
+
+        if (token == null) {
+            if (held.remove(name) != null) {
+                System.out.println("Nodo " + nodeId + ": lease " + name + " perso");
+            }
+            return null;
+        }
+        held.put(name, token);
+        if (token.equals(previous)) {
+            return null;
+        }
+        System.out.println("Nodo " + nodeId + ": lease " + name + " acquisito (token " + token + ")");
+        return token;
+    }
+
+    private void announce(String name, long token) {
+        taskScheduler.schedule(() -> {
+            try {
+                eventPublisher.publishEvent(new LeaseAcquired(name, token));
+            } catch (RuntimeException e) {
+                System.err.println("Job all'acquisizione del lease " + name + " fallito: " + e.getMessage());
+            }
+        }, Instant.now());
+    }
+
+    //Token del lease se questo nodo lo possiede, altrimenti null
+    public Long heldToken(String name) {
+        return held.get(name);
+    }
+
+    /**
+     * Da chiamare nella transazione che esegue il job, prima di scrivere: blocca la riga
+     * del lease fino al commit e fallisce se nel frattempo un altro nodo l'ha presa.
+     */
+    @Transactional
+    public void fence(String name, long fencingToken) {
+        if (leaseRepository.findLockedByNameAndOwnerAndFencingToken(name, nodeId, fencingToken).isEmpty()) {
+            held.remove(name, fencingToken);
+            throw new RuntimeException("Lease " + name + " non più valido (token " + fencingToken + ")");
+        }
+    }
+
+    // Rilascio alla chiusura: un altro nodo subentra al prossimo heartbeat senza attendere il TTL
+    @PreDestroy
+    public void releaseAll() {
+        for (String name : held.keySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> leaseRepository.release(name, nodeId));
+            } catch (RuntimeException e) {
+                System.err.println("Rilascio lease " + name + " fallito: " + e.getMessage());
+            }
+        }
+        held.clear();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -1,19 +1,23 @@
 package com.hackhub.service;
 
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.SupportRequestResponse;
 import com.hackhub.model.SupportRequest;
 import com.hackhub.model.Team;
 import com.hackhub.model.User;
 import com.hackhub.repository.SupportRequestRepository;
 import com.hackhub.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
+@Transactional
 public class SupportRequestService {
 
     @Autowired
@@ -25,6 +29,12 @@ public class SupportRequestService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationOutboxService notificationOutbox;
+
+    @Autowired
+    private MessageTemplateService templates;
+
     public SupportRequest createSupportRequest(Long teamId, String title, String description) {
         Team team = teamService.getTeamById(teamId);
 
@@ -64,19 +74,32 @@ public class SupportRequestService {
         return supportRequestRepository.save(request);
     }
 
+    @Transactional(readOnly = true)
     public List<SupportRequest> getRequestsByMentor(Long mentorId) {
         return supportRequestRepository.findByMentorId(mentorId);
     }
 
+    //Pagina di richieste assegnate a un mentore, a partire dal cursore
+    @Transactional(readOnly = true)
+    public CursorPage<SupportRequestResponse> getRequestsByMentorPage(Long mentorId, String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<SupportRequestResponse> rows = supportRequestRepository.findResponsesByMentorIdAfter(
+                mentorId, CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, SupportRequestResponse::id);
+    }
+
+    @Transactional(readOnly = true)
     public List<SupportRequest> getRequestsByTeam(Long teamId) {
         return supportRequestRepository.findByTeamId(teamId);
     }
 
+    @Transactional(readOnly = true)
     public List<SupportRequest> getPendingRequests() {
         return supportRequestRepository.findByStatus("PENDING");
     }
 
     //Ottiene tutte le richieste per un hackathon
+    @Transactional(readOnly = true)
     public List<SupportRequest> getRequestsByHackathon(Long hackathonId) {
         return supportRequestRepository.findByTeamHackathonId(hackathonId);
     }
@@ -98,18 +121,13 @@ public class SupportRequestService {
         request.setStatus("SCHEDULED");
 
         // Invia notifica al team
-        String message = String.format(
-                "La tua richiesta di supporto '%s' è stata programmata per il %s",
-                request.getTitle(),
-                scheduledDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))
-        );
+        String message = templates.render("support.call.scheduled", Map.of(
+                "title", request.getTitle(),
+                "date", scheduledDate));
 
-        // Usa il team per inviare notifica a tutti i membri
+        // Notifica in-app a tutti i membri del team, accodata nell'outbox con la modifica
         if (request.getTeam() != null && request.getTeam().getMembers() != null) {
-            for (User member : request.getTeam().getMembers()) {
-                // Qui potresti usare NotificationContext se lo hai injectato
-                System.out.println("🔔 Notifica a " + member.getUsername() + ": " + message);
-            }
+            notificationOutbox.enqueueAll("IN_APP", message, request.getTeam().getMembers());
         }
 
         return supportRequestRepository.save(request);
@@ -131,6 +149,7 @@ public class SupportRequestService {
     /**
      * Ottiene statistiche sulle richieste
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getStatistics(Long hackathonId) {
         List<SupportRequest> requests = getRequestsByHackathon(hackathonId);
 
@@ -1,16 +1,22 @@
 package com.hackhub.service;
 
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.TeamResponse;
 import com.hackhub.model.Team;
 import com.hackhub.model.User;
 import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonEvent;
+import com.hackhub.model.HackathonStats;
 import com.hackhub.repository.TeamRepository;
 import com.hackhub.repository.UserRepository;
 import com.hackhub.repository.HackathonRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +33,15 @@ public class TeamService {
     @Autowired
     private HackathonRepository hackathonRepository;
 
+    @Autowired
+    private HackathonStatsService hackathonStatsService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private HackathonJournalService journal;
+
     /**
      * Crea un nuovo team
      */
@@ -47,6 +62,8 @@ public class TeamService {
 
         Team team = new Team(teamName, hackathon, creator);
         Team savedTeam = teamRepository.save(team);
+        hackathonStatsService.teamsCreated(hackathonId, 1);
+        journal.append(HackathonEvent.teamCreated(hackathonId, savedTeam.getId(), teamName));
 
         System.out.println("Team " + teamName + " creato con successo!");
         return savedTeam;
@@ -109,9 +126,17 @@ public class TeamService {
             throw new RuntimeException("L'hackathon non è in corso");
         }
 
+        boolean alreadySubmitted = team.hasSubmittedProject();
         team.submitProject(projectName, description, repoUrl);
 
         Team savedTeam = teamRepository.save(team);
+        Long hackathonId = team.getHackathon().getId();
+        journal.append(HackathonEvent.projectSubmitted(hackathonId, teamId, team.getProjectName()));
+        if (!alreadySubmitted && team.hasSubmittedProject()) {
+            hackathonStatsService.projectSubmitted(hackathonId, team.isEvaluated());
+        } else if (alreadySubmitted && !team.hasSubmittedProject()) {
+            hackathonStatsService.rebuild(hackathonId);
+        }
         System.out.println("Progetto inviato per il team " + team.getName());
 
         return savedTeam;
@@ -124,9 +149,13 @@ public class TeamService {
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team non trovato"));
 
+        Double oldScore = team.getScore();
         team.evaluate(score, feedback);
 
         Team savedTeam = teamRepository.save(team);
+        hackathonStatsService.teamEvaluated(team.getHackathon().getId(), oldScore, score, team.hasSubmittedProject());
+        leaderboardService.scoreChanged(team.getHackathon().getId(), team.getId(), team.getName(), score);
+        journal.append(HackathonEvent.teamEvaluated(team.getHackathon().getId(), teamId, score));
         System.out.println("Team " + team.getName() + " valutato con punteggio: " + score);
 
         return savedTeam;
@@ -135,23 +164,81 @@ public class TeamService {
     /**
      * Ottiene tutti i team di un hackathon
      */
+    @Transactional(readOnly = true)
     public List<Team> getTeamsByHackathon(Long hackathonId) {
-        return teamRepository.findByHackathonId(hackathonId);
+        return teamRepository.findWithMembersByHackathonId(hackathonId);
+    }
+
+    /**
+     * Ottiene una pagina dei team di un hackathon, a partire dal cursore
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TeamResponse> getTeamsByHackathonPage(Long hackathonId, String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<TeamResponse> rows = teamRepository.findResponsesByHackathonIdAfter(
+                hackathonId, CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        CursorPage<TeamResponse> page = CursorPage.of(rows, limit, TeamResponse::id);
+        return new CursorPage<>(withMemberNames(page.getItems()), page.getNextCursor());
+    }
+
+    /**
+     * Completa le risposte con i nomi dei membri, letti con una sola query
+     */
+    private List<TeamResponse> withMemberNames(List<TeamResponse> teams) {
+        if (teams.isEmpty()) {
+            return teams;
+        }
+
+        Map<Long, List<String>> names = new HashMap<>();
+        for (UserRepository.MemberName member :
+                userRepository.findMemberNamesByTeamIdIn(teams.stream().map(TeamResponse::id).toList())) {
+            names.computeIfAbsent(member.getTeamId(), id -> new ArrayList<>()).add(member.getUsername());
+        }
+
+        List<TeamResponse> result = new ArrayList<>();
+        for (TeamResponse team : teams) {
+            result.add(team.withMemberNames(names.getOrDefault(team.id(), List.of())));
+        }
+        return result;
+    }
+
+    /**
+     * Ottiene una pagina di tutti i team, a partire dal cursore
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Team> getAllTeamsPage(String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<Team> rows = teamRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        CursorPage<Team> page = CursorPage.of(rows, limit, Team::getId);
+        fetchMembers(page.getItems());
+        return page;
+    }
+
+    /**
+     * Carica con una sola query i membri dei team già presenti nella transazione
+     */
+    public void fetchMembers(List<Team> teams) {
+        if (!teams.isEmpty()) {
+            teamRepository.findWithMembersByIdIn(teams.stream().map(Team::getId).toList());
+        }
     }
 
     /**
      * Ottiene un team per ID
      */
+    @Transactional(readOnly = true)
     public Team getTeamById(Long teamId) {
-        return teamRepository.findById(teamId)
+        return teamRepository.findDetailById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team non trovato"));
     }
 
     /**
      * Ottiene tutti i team
      */
+    @Transactional(readOnly = true)
     public List<Team> getAllTeams() {
-        return teamRepository.findAll();
+        return teamRepository.findAllWithMembers();
     }
 
     /**
@@ -168,21 +255,25 @@ public class TeamService {
         }
 
         teamRepository.delete(team);
+        hackathonStatsService.rebuild(team.getHackathon().getId());
+        leaderboardService.teamRemoved(team.getHackathon().getId(), team.getId());
+        journal.append(HackathonEvent.teamDeleted(team.getHackathon().getId(), teamId));
         System.out.println("Team " + team.getName() + " eliminato");
     }
 
     /**
      * Trova tutti i team di cui un utente è membro
      */
+    @Transactional(readOnly = true)
     public List<Team> findTeamsByMember(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithTeamById(userId)
                 .orElseThrow(() -> new RuntimeException("Utente non trovato con ID: " + userId));
 
         List<Team> teams = new ArrayList<>();
 
         // Un utente può essere membro di un solo team alla volta
         if (user.getTeam() != null) {
-            teams.add(user.getTeam());
+            teams.add(getTeamById(user.getTeam().getId()));
         }
 
         return teams;
@@ -191,6 +282,7 @@ public class TeamService {
     /**
      * Verifica se un utente può unirsi a un team
      */
+    @Transactional(readOnly = true)
     public boolean canJoinTeam(Long teamId, Long userId) {
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team non trovato con ID: " + teamId));
@@ -226,45 +318,17 @@ public class TeamService {
      * @param hackathonId ID dell'hackathon
      * @return Oggetto TeamStatistics con le statistiche
      */
+    @Transactional(readOnly = true)
     public TeamStatistics getTeamStatistics(Long hackathonId) {
-        List<Team> teams = teamRepository.findByHackathonId(hackathonId);
-
-        int totalTeams = teams.size();
-        int teamsWithSubmission = 0;
-        int teamsEvaluated = 0;
-        double totalScore = 0.0;
-        double maxScore = 0.0;
-        double minScore = 10.0; // Partiamo dal massimo
-
-        for (Team team : teams) {
-            if (team.hasSubmittedProject()) {
-                teamsWithSubmission++;
-            }
-
-            if (team.isEvaluated()) {
-                teamsEvaluated++;
-                double score = team.getScore();
-                totalScore += score;
-
-                if (score > maxScore) {
-                    maxScore = score;
-                }
-
-                if (score < minScore) {
-                    minScore = score;
-                }
-            }
-        }
+        // Contatori mantenuti a ogni invio e valutazione: nessuna scansione dei team
+        HackathonStats stats = hackathonStatsService.getStats(hackathonId);
 
-        double avgScore = teamsEvaluated > 0 ? totalScore / teamsEvaluated : 0.0;
-
-        // Se nessun team è stato valutato, resetta minScore a 0
-        if (teamsEvaluated == 0) {
-            minScore = 0.0;
-        }
+        // Se nessun team è stato valutato, minimo e massimo valgono 0
+        double maxScore = stats.getScoreMax() != null ? stats.getScoreMax() : 0.0;
+        double minScore = stats.getScoreMin() != null ? stats.getScoreMin() : 0.0;
 
-        return new TeamStatistics(totalTeams, teamsWithSubmission, teamsEvaluated,
-                avgScore, maxScore, minScore);
+        return new TeamStatistics(stats.getTeamCount(), stats.getSubmittedCount(), stats.getEvaluatedCount(),
+                stats.getAverageScore(), maxScore, minScore);
     }
 
     /**
@@ -0,0 +1,132 @@
+package com.hackhub.service;
+
+import com.hackhub.dto.InboxItem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Inbox in memoria di un utente: buffer circolare con le notifiche più recenti e le due
+ * posizioni lastSeq (ultima consegnata) e ackedSeq (ultima letta). Le non lette sono la loro
+ * differenza; le posizioni possono solo crescere, quindi aggiornamenti ripetuti o arrivati da
+ * altri nodi (sync) non fanno derivare il contatore.
+ * Il buffer si riempie dal database al primo accesso all'elenco (load).
+ */
+final class UserInbox {
+
+    private final InboxItem[] ring;
+    private int head;   // posizione del prossimo inserimento
+    private int size;
+
+    private long lastSeq;
+    private long ackedSeq;
+    private boolean loaded;
+
+    UserInbox(int capacity) {
+        this.ring = new InboxItem[capacity];
+    }
+
+    synchronized void add(InboxItem item) {
+        push(item);
+        lastSeq = Math.max(lastSeq, item.seq());
+    }
+
+    /**
+     * Allinea le posizioni a quelle lette dal database. Se è stata consegnata una notifica
+     * che il buffer non contiene (es. da un altro nodo), l'elenco verrà ricaricato.
+     */
+    synchronized void sync(long lastSeq, long ackedSeq) {
+        this.lastSeq = Math.max(this.lastSeq, lastSeq);
+        this.ackedSeq = Math.max(this.ackedSeq, ackedSeq);
+        if (latestBufferedSeq() < this.lastSeq) {
+            loaded = false;
+        }
+    }
+
+    /**
+     * Unisce al buffer le notifiche lette dal database (per posizione, senza duplicati):
+     * quelle arrivate mentre il caricamento era in corso restano.
+     */
+    synchronized void load(List<InboxItem> recent, long lastSeq, long ackedSeq) {
+        TreeMap<Long, InboxItem> merged = new TreeMap<>();
+        for (InboxItem item : recent) {
+            merged.put(item.seq(), item);
+        }
+        for (InboxItem item : newestFirst()) {
+            merged.put(item.seq(), item);
+        }
+        head = 0;
+        size = 0;
+        List<InboxItem> items = new ArrayList<>(merged.values());
+        for (InboxItem item : items.subList(Math.max(0, items.size() - ring.length), items.size())) {
+            push(item);
+        }
+        this.lastSeq = Math.max(this.lastSeq, lastSeq);
+        this.ackedSeq = Math.max(this.ackedSeq, ackedSeq);
+        this.loaded = true;
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    synchronized long getUnreadCount() {
+        return Math.max(0, lastSeq - ackedSeq);
+    }
+
+    synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    synchronized long getAckedSeq() {
+        return ackedSeq;
+    }
+
+    //Non lette presenti nel buffer, dalla più recente
+    synchronized List<InboxItem> unread(int limit) {
+        List<InboxItem> result = new ArrayList<>();
+        for (InboxItem item : newestFirst()) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (item.seq() > ackedSeq) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    //Vero se tutte le non lette sono nel buffer, quindi l'elenco non richiede il database
+    synchronized boolean holdsAllUnread() {
+        long buffered = 0;
+        for (InboxItem item : newestFirst()) {
+            if (item.seq() > ackedSeq) {
+                buffered++;
+            }
+        }
+        return buffered >= getUnreadCount();
+    }
+
+    private long latestBufferedSeq() {
+        List<InboxItem> items = newestFirst();
+        return items.isEmpty() ? 0 : items.get(0).seq();
+    }
+
+    private void push(InboxItem item) {
+        ring[head] = item;
+        head = (head + 1) % ring.length;
+        size = Math.min(size + 1, ring.length);
+    }
+
+    //I commit di consegne concorrenti possono arrivare fuori ordine: si ordina per posizione
+    private List<InboxItem> newestFirst() {
+        List<InboxItem> items = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            items.add(ring[Math.floorMod(head - i, ring.length)]);
+        }
+        items.sort(Comparator.comparingLong(InboxItem::seq).reversed());
+        return items;
+    }
+}
@@ -1,13 +1,18 @@
 package com.hackhub.service;
 
+import com.hackhub.dto.CursorPage;
+import com.hackhub.dto.UserResponse;
 import com.hackhub.model.User;
 import com.hackhub.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional
 public class UserService {
 
     @Autowired
@@ -38,31 +43,63 @@ public class UserService {
         return createUser(email, username, password, "USER");
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(String role) {
         return userRepository.findByRole(role);
     }
 
+    //Pagina di utenti con un certo ruolo, a partire dal cursore
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersByRolePage(String role, String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<UserResponse> rows = userRepository.findResponsesByRoleAfter(
+                role, CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, UserResponse::id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserResponse> getUserResponsesByRole(String role) {
+        return userRepository.findResponsesByRole(role);
+    }
+
+    @Transactional(readOnly = true)
     public List<User> getAvailableJudges() {
         return userRepository.findByRole("JUDGE");
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAvailableMentors() {
         return userRepository.findByRole("MENTOR");
     }
 
     public User updateUserRole(Long userId, String newRole) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithTeamById(userId)
                 .orElseThrow(() -> new RuntimeException("Utente non trovato"));
 
         user.setRole(newRole);
         return userRepository.save(user);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
-        return userRepository.findAll();
+        return userRepository.findAllWithTeam();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<User> getAllUsersPage(String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        List<User> rows = userRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, User::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public long countUsers() {
+        return userRepository.count();
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+-- Chiave di coalescenza delle notifiche (hackathon e tipo di evento): una notifica ancora
+-- in attesa viene sostituita dalla successiva con la stessa chiave per lo stesso destinatario
+
+alter table notification_outbox add column coalesce_key varchar(100);
+
+create index idx_notification_outbox_coalesce on notification_outbox (coalesce_key, recipient_id);
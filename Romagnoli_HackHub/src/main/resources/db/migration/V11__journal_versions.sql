@@ -0,0 +1,28 @@
+-- Versione per hackathon degli eventi del journal, assegnata in ordine di commit sotto il lock
+-- della riga di testa. Ordine del replay e soglia degli snapshot usano la versione, non l'id
+-- da sequenza (con allocationSize 50 e più nodi gli id non seguono l'ordine di commit).
+
+create table hackathon_journal_heads (
+    hackathon_id bigint not null,
+    version bigint not null,
+    primary key (hackathon_id)
+);
+
+alter table hackathon_events add column version bigint;
+
+update hackathon_events e set version =
+    (select count(*) from hackathon_events x where x.hackathon_id = e.hackathon_id and x.id <= e.id);
+
+alter table hackathon_events alter column version set not null;
+
+insert into hackathon_journal_heads (hackathon_id, version)
+select hackathon_id, max(version) from hackathon_events group by hackathon_id;
+
+drop index idx_hackathon_events_hackathon;
+
+create unique index uk_hackathon_events_version on hackathon_events (hackathon_id, version);
+
+-- Gli snapshot esistenti sono riferiti agli id: si scartano e il job li riprende
+delete from hackathon_snapshots;
+
+alter table hackathon_snapshots alter column last_event_id rename to last_version;
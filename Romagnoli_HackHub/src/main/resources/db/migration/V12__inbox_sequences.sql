@@ -0,0 +1,31 @@
+-- Posizione per utente delle notifiche in-app, riservata sulla riga di inbox_cursors che resta
+-- bloccata fino al commit: le posizioni seguono l'ordine di commit e sono contigue, quindi la
+-- soglia di lettura non salta notifiche e le non lette sono last_seq - acked_seq.
+
+alter table inbox_notifications add column seq bigint;
+
+update inbox_notifications n set seq =
+    (select count(*) from inbox_notifications x where x.user_id = n.user_id and x.id <= n.id);
+
+alter table inbox_notifications alter column seq set not null;
+
+create unique index uk_inbox_notifications_seq on inbox_notifications (user_id, seq);
+
+-- Soglie esistenti convertite da id a posizione
+update inbox_cursors c set acked_id =
+    (select count(*) from inbox_notifications x where x.user_id = c.user_id and x.id <= c.acked_id);
+
+alter table inbox_cursors alter column acked_id rename to acked_seq;
+alter table inbox_cursors alter column acked_at set null;
+alter table inbox_cursors add column last_seq bigint default 0 not null;
+alter table inbox_cursors add column changed_at timestamp(6) default current_timestamp not null;
+
+insert into inbox_cursors (user_id, acked_seq, last_seq, changed_at)
+select u.user_id, 0, 0, current_timestamp
+from (select id as user_id from users union select user_id from inbox_notifications) u
+where not exists (select 1 from inbox_cursors c where c.user_id = u.user_id);
+
+update inbox_cursors c set last_seq =
+    (select count(*) from inbox_notifications x where x.user_id = c.user_id);
+
+create index idx_inbox_cursors_changed on inbox_cursors (changed_at);
@@ -0,0 +1,23 @@
+-- Eventi per gli observer degli hackathon, scritti nella transazione della modifica ed eseguiti dopo il
+-- commit: se il nodo si ferma o la corsia del dispatcher scarta l'evento, la riga resta e la riprende il poller.
+-- Sequenza senza preallocazione: gli id di uno stesso hackathon seguono l'ordine di commit.
+
+create sequence observer_jobs_seq start with 1 increment by 1;
+
+create table observer_jobs (
+    id bigint not null,
+    hackathon_id bigint not null,
+    event_type varchar(30) not null,
+    old_status char(1),
+    new_status char(1),
+    winner_team_id bigint,
+    status varchar(10) not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    last_error varchar(1000),
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_observer_jobs_due on observer_jobs (status, next_attempt_at);
+create index idx_observer_jobs_hackathon on observer_jobs (hackathon_id, status, id);
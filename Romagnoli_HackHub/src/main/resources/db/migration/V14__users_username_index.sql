@@ -0,0 +1,2 @@
+-- Ricerca per username (UserRepository.findByUsername), segnalata dal test dei piani di esecuzione
+create index idx_users_username on users (username);
@@ -0,0 +1,6 @@
+-- Riga di testa a versione 0 per gli hackathon senza eventi nel journal: da ora la riga si crea
+-- con l'hackathon e il primo evento la incrementa soltanto, invece di inserirla. Due primi eventi
+-- concorrenti non possono più fallire entrambi sulla chiave primaria della testa.
+insert into hackathon_journal_heads (hackathon_id, version)
+select h.id, 0 from hackathons h
+where not exists (select 1 from hackathon_journal_heads j where j.hackathon_id = h.id);
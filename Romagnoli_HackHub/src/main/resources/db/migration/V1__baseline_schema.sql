@@ -0,0 +1,112 @@
+-- Schema di partenza, equivalente a quello generato da Hibernate con ddl-auto
+
+create sequence users_seq start with 1 increment by 50;
+create sequence hackathons_seq start with 1 increment by 50;
+create sequence teams_seq start with 1 increment by 50;
+create sequence submissions_seq start with 1 increment by 50;
+create sequence support_requests_seq start with 1 increment by 50;
+create sequence violation_reports_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    email varchar(255) not null,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255) not null,
+    team_id bigint,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table hackathons (
+    id bigint not null,
+    name varchar(255) not null,
+    description varchar(1000),
+    rules varchar(2000),
+    registration_deadline timestamp(6) not null,
+    start_date timestamp(6) not null,
+    end_date timestamp(6) not null,
+    status varchar(255) not null,
+    max_team_size integer not null,
+    prize_money float(53),
+    organizer_id bigint not null,
+    judge_id bigint,
+    winner_team_id bigint,
+    primary key (id)
+);
+
+create table hackathon_mentors (
+    hackathon_id bigint not null,
+    mentor_id bigint not null
+);
+
+create table teams (
+    id bigint not null,
+    name varchar(255) not null,
+    project_name varchar(255),
+    project_description varchar(1000),
+    repository_url varchar(255),
+    score float(53),
+    judge_feedback varchar(2000),
+    hackathon_id bigint not null,
+    creator_id bigint not null,
+    primary key (id)
+);
+
+create table submission (
+    id bigint not null,
+    project_name varchar(255),
+    project_description varchar(255),
+    repository_url varchar(255),
+    submission_date timestamp(6),
+    is_final boolean not null,
+    score float(53),
+    judge_feedback varchar(255),
+    team_id bigint,
+    evaluated_by_id bigint,
+    primary key (id)
+);
+
+create table support_requests (
+    id bigint not null,
+    title varchar(255),
+    description varchar(255),
+    request_date timestamp(6),
+    status varchar(255),
+    calendar_event_id varchar(255),
+    scheduled_date timestamp(6),
+    team_id bigint,
+    mentor_id bigint,
+    primary key (id)
+);
+
+create table violation_reports (
+    id bigint not null,
+    title varchar(255),
+    description varchar(255),
+    report_date timestamp(6),
+    status varchar(255),
+    resolution_notes varchar(255),
+    resolution_date timestamp(6),
+    reporter_id bigint,
+    reported_team_id bigint,
+    hackathon_id bigint,
+    assigned_organizer_id bigint,
+    primary key (id)
+);
+
+alter table users add constraint fk_users_team foreign key (team_id) references teams;
+alter table hackathons add constraint fk_hackathons_organizer foreign key (organizer_id) references users;
+alter table hackathons add constraint fk_hackathons_judge foreign key (judge_id) references users;
+alter table hackathon_mentors add constraint fk_hackathon_mentors_hackathon foreign key (hackathon_id) references hackathons;
+alter table hackathon_mentors add constraint fk_hackathon_mentors_mentor foreign key (mentor_id) references users;
+alter table teams add constraint fk_teams_hackathon foreign key (hackathon_id) references hackathons;
+alter table teams add constraint fk_teams_creator foreign key (creator_id) references users;
+alter table submission add constraint fk_submission_team foreign key (team_id) references teams;
+alter table submission add constraint fk_submission_evaluated_by foreign key (evaluated_by_id) references users;
+alter table support_requests add constraint fk_support_requests_team foreign key (team_id) references teams;
+alter table support_requests add constraint fk_support_requests_mentor foreign key (mentor_id) references users;
+alter table violation_reports add constraint fk_violation_reports_reporter foreign key (reporter_id) references users;
+alter table violation_reports add constraint fk_violation_reports_team foreign key (reported_team_id) references teams;
+alter table violation_reports add constraint fk_violation_reports_hackathon foreign key (hackathon_id) references hackathons;
+alter table violation_reports add constraint fk_violation_reports_organizer foreign key (assigned_organizer_id) references users;
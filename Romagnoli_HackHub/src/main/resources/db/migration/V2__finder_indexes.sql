@@ -0,0 +1,36 @@
+-- Indici secondari allineati ai finder dei repository.
+-- Dove il finder pagina per id (keyset) l'id chiude l'indice, così filtro e ordinamento usano lo stesso indice.
+
+-- HackathonRepository: findByStatus/countGroupByStatus e scadenze iscrizioni; findByOrganizerId
+create index idx_hackathons_status_deadline on hackathons (status, registration_deadline);
+create index idx_hackathons_organizer on hackathons (organizer_id, id);
+create index idx_hackathons_judge on hackathons (judge_id);
+
+-- Mentor di un hackathon e hackathon di un mentor
+create index idx_hackathon_mentors_hackathon on hackathon_mentors (hackathon_id, mentor_id);
+create index idx_hackathon_mentors_mentor on hackathon_mentors (mentor_id);
+
+-- TeamRepository: findByHackathonId e keyset per hackathon; lookup per nome dell'import; findByCreatorId
+create index idx_teams_hackathon on teams (hackathon_id, id);
+create index idx_teams_hackathon_name on teams (hackathon_id, name);
+create index idx_teams_creator on teams (creator_id);
+
+-- UserRepository: findByRole e keyset per ruolo; findByTeamId e nomi dei membri
+create index idx_users_role on users (role, id);
+create index idx_users_team on users (team_id, id);
+
+-- SupportRequestRepository: keyset per stato, richieste recenti per stato, per mentor e per team
+create index idx_support_requests_status on support_requests (status, id);
+create index idx_support_requests_status_date on support_requests (status, request_date);
+create index idx_support_requests_mentor on support_requests (mentor_id, id);
+create index idx_support_requests_team on support_requests (team_id);
+
+-- ViolationReportRepository: keyset per hackathon, organizzatore e stato; per segnalante e team
+create index idx_violation_reports_hackathon on violation_reports (hackathon_id, id);
+create index idx_violation_reports_organizer on violation_reports (assigned_organizer_id, id);
+create index idx_violation_reports_status on violation_reports (status, id);
+create index idx_violation_reports_reporter on violation_reports (reporter_id);
+create index idx_violation_reports_team on violation_reports (reported_team_id);
+
+-- Submission: storico per team
+create index idx_submission_team on submission (team_id);
@@ -0,0 +1,2 @@
+-- Scadenze di fine evento per lo scheduler delle transizioni IN_CORSO -> IN_VALUTAZIONE
+create index idx_hackathons_status_end on hackathons (status, end_date);
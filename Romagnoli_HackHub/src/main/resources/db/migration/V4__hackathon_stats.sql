@@ -0,0 +1,30 @@
+-- Contatori e aggregati dei punteggi per hackathon, mantenuti dall'applicazione
+
+create table hackathon_stats (
+    hackathon_id bigint not null,
+    team_count integer not null,
+    submitted_count integer not null,
+    evaluated_count integer not null,
+    pending_evaluations integer not null,
+    score_sum float(53) not null,
+    score_min float(53),
+    score_max float(53),
+    primary key (hackathon_id)
+);
+
+alter table hackathon_stats add constraint fk_hackathon_stats_hackathon foreign key (hackathon_id) references hackathons;
+
+-- Valori iniziali per gli hackathon già presenti
+insert into hackathon_stats (hackathon_id, team_count, submitted_count, evaluated_count,
+                             pending_evaluations, score_sum, score_min, score_max)
+select h.id,
+       count(t.id),
+       coalesce(sum(case when t.project_name is not null and trim(t.project_name) <> '' then 1 else 0 end), 0),
+       coalesce(sum(case when t.score is not null then 1 else 0 end), 0),
+       coalesce(sum(case when t.project_name is not null and trim(t.project_name) <> '' and t.score is null then 1 else 0 end), 0),
+       coalesce(sum(t.score), 0),
+       min(t.score),
+       max(t.score)
+from hackathons h
+left join teams t on t.hackathon_id = h.id
+group by h.id;
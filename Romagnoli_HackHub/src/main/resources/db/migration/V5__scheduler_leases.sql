@@ -0,0 +1,11 @@
+-- Lease dei job schedulati: con più nodi sullo stesso database un solo nodo esegue ogni job
+
+create table scheduler_leases (
+    name varchar(100) not null,
+    owner varchar(100),
+    fencing_token bigint not null,
+    expires_at timestamp(6),
+    primary key (name)
+);
+
+insert into scheduler_leases (name, owner, fencing_token, expires_at) values ('hackathon-lifecycle', null, 0, null);
@@ -0,0 +1,12 @@
+-- Stato dell'hackathon come codice di un carattere al posto del nome:
+-- I = INSCRIZIONE, C = IN_CORSO, V = IN_VALUTAZIONE, X = CONCLUSO.
+-- Gli indici (status, registration_deadline) e (status, end_date) restano sulla colonna ridotta.
+
+update hackathons set status = case status
+    when 'INSCRIZIONE' then 'I'
+    when 'IN_CORSO' then 'C'
+    when 'IN_VALUTAZIONE' then 'V'
+    when 'CONCLUSO' then 'X'
+end;
+
+alter table hackathons modify column status char(1) not null;
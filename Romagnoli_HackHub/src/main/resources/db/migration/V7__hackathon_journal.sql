@@ -0,0 +1,58 @@
+-- Journal degli eventi di hackathon e team (solo inserimenti) e snapshot per il replay
+
+create sequence hackathon_events_seq start with 1 increment by 50;
+
+create table hackathon_events (
+    id bigint not null,
+    hackathon_id bigint not null,
+    type varchar(30) not null,
+    team_id bigint,
+    user_id bigint,
+    old_value varchar(30),
+    new_value varchar(255),
+    score float(53),
+    occurred_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_hackathon_events_hackathon on hackathon_events (hackathon_id, id);
+
+create table hackathon_snapshots (
+    hackathon_id bigint not null,
+    last_event_id bigint not null,
+    state clob not null,
+    taken_at timestamp(6) not null,
+    primary key (hackathon_id)
+);
+
+-- Eventi iniziali ricavati dai dati già presenti, così il replay parte da uno stato completo
+insert into hackathon_events (id, hackathon_id, type, new_value, occurred_at)
+select next value for hackathon_events_seq, h.id, 'HACKATHON_CREATED',
+       case h.status when 'I' then 'INSCRIZIONE' when 'C' then 'IN_CORSO'
+                     when 'V' then 'IN_VALUTAZIONE' when 'X' then 'CONCLUSO' end,
+       current_timestamp
+from hackathons h;
+
+insert into hackathon_events (id, hackathon_id, type, user_id, occurred_at)
+select next value for hackathon_events_seq, h.id, 'JUDGE_ASSIGNED', h.judge_id, current_timestamp
+from hackathons h where h.judge_id is not null;
+
+insert into hackathon_events (id, hackathon_id, type, user_id, occurred_at)
+select next value for hackathon_events_seq, m.hackathon_id, 'MENTOR_ADDED', m.mentor_id, current_timestamp
+from hackathon_mentors m;
+
+insert into hackathon_events (id, hackathon_id, type, team_id, new_value, occurred_at)
+select next value for hackathon_events_seq, t.hackathon_id, 'TEAM_CREATED', t.id, t.name, current_timestamp
+from teams t;
+
+insert into hackathon_events (id, hackathon_id, type, team_id, new_value, occurred_at)
+select next value for hackathon_events_seq, t.hackathon_id, 'PROJECT_SUBMITTED', t.id, t.project_name, current_timestamp
+from teams t where t.project_name is not null and trim(t.project_name) <> '';
+
+insert into hackathon_events (id, hackathon_id, type, team_id, score, occurred_at)
+select next value for hackathon_events_seq, t.hackathon_id, 'TEAM_EVALUATED', t.id, t.score, current_timestamp
+from teams t where t.score is not null;
+
+insert into hackathon_events (id, hackathon_id, type, team_id, occurred_at)
+select next value for hackathon_events_seq, h.id, 'WINNER_DECLARED', h.winner_team_id, current_timestamp
+from hackathons h where h.winner_team_id is not null;
@@ -0,0 +1,19 @@
+-- Outbox delle notifiche: scritte nella transazione del cambiamento, consegnate dal dispatcher
+
+create sequence notification_outbox_seq start with 1 increment by 50;
+
+create table notification_outbox (
+    id bigint not null,
+    recipient_id bigint not null,
+    channel varchar(20) not null,
+    message varchar(4000) not null,
+    status varchar(10) not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    last_error varchar(1000),
+    created_at timestamp(6) not null,
+    sent_at timestamp(6),
+    primary key (id)
+);
+
+create index idx_notification_outbox_due on notification_outbox (status, next_attempt_at);
@@ -0,0 +1,20 @@
+-- Inbox delle notifiche in-app: notifiche solo in inserimento, letture come soglia per utente
+
+create sequence inbox_notifications_seq start with 1 increment by 50;
+
+create table inbox_notifications (
+    id bigint not null,
+    user_id bigint not null,
+    message varchar(4000) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_inbox_notifications_user on inbox_notifications (user_id, created_at);
+
+create table inbox_cursors (
+    user_id bigint not null,
+    acked_id bigint not null,
+    acked_at timestamp(6) not null,
+    primary key (user_id)
+);
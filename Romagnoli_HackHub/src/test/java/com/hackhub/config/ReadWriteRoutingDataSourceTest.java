@@ -0,0 +1,108 @@
+package com.hackhub.config;
+
+import com.hackhub.HackHubApplication;
+import com.hackhub.model.User;
+import com.hackhub.repository.UserRepository;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Con la replica attiva le transazioni readOnly leggono dalla replica e le altre dal primario;
+ * la sincronizzazione simulata non lascia mai la replica senza tabelle o senza righe.
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private static ConfigurableApplicationContext context;
+    private static TransactionTemplate readOnly;
+    private static TransactionTemplate readWrite;
+
+    @BeforeClass
+    public static void start() {
+        context = new SpringApplicationBuilder(HackHubApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--server.port=0",
+                "--app.datasource.replica.enabled=true",
+                "--app.datasource.replica.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--app.datasource.replica.simulate-lag=true",
+                // Sincronizzazioni solo quelle chiamate dal test (più la prima all'avvio)
+                "--app.datasource.replica.sync-interval-ms=3600000",
+                // Senza cache ogni lettura arriva al database
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterClass
+    public static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void readOnlyGoesToReplicaAndWritesToPrimary() {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        UserRepository users = context.getBean(UserRepository.class);
+        ReplicaLagSimulator simulator = context.getBean(ReplicaLagSimulator.class);
+        simulator.syncReplica();
+
+        assertEquals("ROUTING_REPLICA", readOnly.execute(status -> jdbc.queryForObject("SELECT DATABASE()", String.class)));
+        assertEquals("ROUTING_PRIMARY", readWrite.execute(status -> jdbc.queryForObject("SELECT DATABASE()", String.class)));
+
+        long before = readOnly.execute(status -> users.count());
+        readWrite.executeWithoutResult(status ->
+                users.save(new User("routing@example.com", "routing", "password", "USER")));
+
+        // La scrittura è sul primario; la replica la vede solo dopo la sincronizzazione
+        assertEquals(before + 1, (long) readWrite.execute(status -> users.count()));
+        assertEquals(before, (long) readOnly.execute(status -> users.count()));
+        simulator.syncReplica();
+        assertEquals(before + 1, (long) readOnly.execute(status -> users.count()));
+    }
+
+    @Test
+    public void readersNeverSeeAnEmptyReplicaDuringSync() throws InterruptedException {
+        UserRepository users = context.getBean(UserRepository.class);
+        ReplicaLagSimulator simulator = context.getBean(ReplicaLagSimulator.class);
+        simulator.syncReplica();
+
+        List<String> problems = new CopyOnWriteArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                try {
+                    long count = readOnly.execute(status -> users.count());
+                    if (count == 0) {
+                        problems.add("replica vuota");
+                    }
+                } catch (RuntimeException e) {
+                    problems.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 10; i++) {
+            simulator.syncReplica();
+        }
+        running.set(false);
+        reader.join();
+
+        assertTrue(problems.toString(), problems.isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.hackhub.pattern.observer;
+
+import com.hackhub.HackHubApplication;
+import com.hackhub.service.HackathonService;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * L'evento per gli observer è salvato con il cambio di stato: anche se la corsia del dispatcher
+ * lo scarta dopo il commit, il poller lo esegue e le notifiche finiscono nell'outbox.
+ */
+public class HackathonObservableTest {
+
+    private ConfigurableApplicationContext context;
+
+    @After
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void droppedDispatchIsRecoveredFromTheJobTable() throws InterruptedException {
+        context = new SpringApplicationBuilder(HackHubApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:observer_jobs_test;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--server.port=0",
+                "--app.notifications.jobs.poll-ms=200");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        ObserverDispatcher dispatcher = context.getBean(ObserverDispatcher.class);
+
+        // Corsie ferme: l'evento accodato dopo il commit viene scartato
+        dispatcher.shutdown();
+        context.getBean(HackathonService.class).updateStatus(1L, "IN_CORSO");
+        assertEquals(1L, dispatcher.getStatistics().get("rejected"));
+
+        awaitTrue(() -> count(jdbc, "select count(*) from observer_jobs") == 0);
+        assertTrue(count(jdbc, "select count(*) from notification_outbox "
+                + "where coalesce_key = 'hackathon:1:STATUS_CHANGED'") > 0);
+    }
+
+    private static long count(JdbcTemplate jdbc, String sql) {
+        return jdbc.queryForObject(sql, Long.class);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue("condizione non raggiunta entro 10 secondi", System.nanoTime() < deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
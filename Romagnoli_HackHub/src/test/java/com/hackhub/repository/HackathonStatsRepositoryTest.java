@@ -0,0 +1,53 @@
+package com.hackhub.repository;
+
+import com.hackhub.HackHubApplication;
+import com.hackhub.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * L'incremento nativo delle valutazioni dichiara la tabella che modifica: le altre regioni della
+ * cache di secondo livello restano valide.
+ */
+public class HackathonStatsRepositoryTest {
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeClass
+    public static void start() {
+        context = new SpringApplicationBuilder(HackHubApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:stats_repository_test;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--server.port=0");
+    }
+
+    @AfterClass
+    public static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void addEvaluationKeepsUnrelatedCacheRegions() {
+        EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+        UserRepository users = context.getBean(UserRepository.class);
+        HackathonStatsRepository stats = context.getBean(HackathonStatsRepository.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        transaction.executeWithoutResult(status -> users.findById(1L).orElseThrow());
+        assertTrue(emf.getCache().contains(User.class, 1L));
+
+        int updated = transaction.execute(status -> stats.addEvaluation(1L, 8.0, 0));
+        assertEquals(1, updated);
+        assertTrue("la cache degli utenti è stata svuotata", emf.getCache().contains(User.class, 1L));
+    }
+}
@@ -0,0 +1,204 @@
+package com.hackhub.repository;
+
+import com.hackhub.HackHubApplication;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Esegue ogni metodo dichiarato nei repository, cattura l'SQL generato da Hibernate e ne legge il
+ * piano con EXPLAIN: nessuna query deve scorrere un'intera tabella (tableScan nel piano di H2),
+ * tranne quelle elencate in FULL_READS, che leggono tutte le righe per costruzione.
+ */
+public class RepositoryQueryPlanTest {
+
+    // Metodi che leggono tutta la tabella di proposito (elenchi completi, caricamenti all'avvio)
+    private static final Set<String> FULL_READS = Set.of(
+            "HackathonRepository.findAllWithOrganizerAndTeams",
+            "TeamRepository.findAllWithMembers",
+            "UserRepository.findAllWithTeam",
+            "HackathonEventRepository.findHackathonIdsNeedingSnapshot",
+            "InboxCursorRepository.findWithUnread",
+            // ORDER BY id DESC con LIMIT: H2 lo mostra come tableScan, MySQL scorre la chiave primaria
+            // dalla fine e si ferma ai primi N team con un progetto
+            "TeamRepository.findRecentSubmissions");
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeClass
+    public static void start() {
+        context = new SpringApplicationBuilder(HackHubApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:plan_test;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--server.port=0",
+                // Senza cache ogni chiamata arriva al database
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + CapturedSql.class.getName());
+    }
+
+    @AfterClass
+    public static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void noRepositoryMethodScansATable() {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<String> problems = new ArrayList<>();
+        Set<String> fullReads = new HashSet<>();
+        int checked = 0;
+        for (Object repository : context.getBeansOfType(JpaRepository.class).values()) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(repository)) {
+                if (!type.getPackageName().equals(RepositoryQueryPlanTest.class.getPackageName())) {
+                    continue;
+                }
+                for (Method method : declaredQueries(type)) {
+                    String name = type.getSimpleName() + "." + method.getName();
+                    List<String> statements = capture(transaction, repository, method);
+                    if (statements.isEmpty()) {
+                        problems.add(name + ": nessuna query eseguita");
+                    }
+                    for (String sql : statements) {
+                        String plan = jdbc.queryForObject("EXPLAIN " + sql, String.class);
+                        if (!plan.contains(".tableScan")) {
+                            continue;
+                        }
+                        if (FULL_READS.contains(name)) {
+                            fullReads.add(name);
+                        } else {
+                            problems.add(name + ":\n" + plan);
+                        }
+                    }
+                    checked++;
+                }
+            }
+        }
+
+        // L'elenco delle eccezioni non deve coprire metodi che ormai usano un indice
+        for (String name : FULL_READS) {
+            if (!fullReads.contains(name)) {
+                problems.add(name + ": usa un indice, va tolto da FULL_READS");
+            }
+        }
+        assertTrue("nessun repository trovato", checked > 0);
+        if (!problems.isEmpty()) {
+            fail("Query senza indice:\n" + String.join("\n\n", problems));
+        }
+    }
+
+    //Metodi di query dichiarati nell'interfaccia (non i getter delle proiezioni annidate)
+    private static List<Method> declaredQueries(Class<?> type) {
+        return Arrays.stream(type.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()) && !method.isSynthetic())
+                .sorted(Comparator.comparing(Method::getName))
+                .toList();
+    }
+
+    //Chiamata in una transazione annullata: le UPDATE e i FOR UPDATE non lasciano traccia
+    private static List<String> capture(TransactionTemplate transaction, Object repository, Method method) {
+        CapturedSql.start();
+        try {
+            transaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                try {
+                    method.invoke(repository, arguments(method));
+                } catch (InvocationTargetException e) {
+                    throw new IllegalStateException(method.getName() + ": " + e.getCause().getMessage(), e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            return CapturedSql.statements();
+        } finally {
+            CapturedSql.stop();
+        }
+    }
+
+    private static Object[] arguments(Method method) {
+        Type[] types = method.getGenericParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = sample(types[i]);
+        }
+        return args;
+    }
+
+    private static Object sample(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            return List.of(sample(parameterized.getActualTypeArguments()[0]), sample(parameterized.getActualTypeArguments()[0]));
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw == Long.class || raw == long.class) return 1L;
+        if (raw == Integer.class || raw == int.class) return 10;
+        if (raw == Double.class || raw == double.class) return 1.0;
+        if (raw == String.class) return "x";
+        if (raw == LocalDateTime.class) return LocalDateTime.now();
+        if (raw == Pageable.class) return PageRequest.of(0, 10);
+        if (raw.isEnum()) return raw.getEnumConstants()[0];
+        throw new IllegalArgumentException("Tipo di parametro non gestito: " + type);
+    }
+
+    /**
+     * Raccoglie l'SQL preparato da Hibernate, solo sul thread del test (gli scheduler dell'applicazione
+     * continuano a interrogare il database in parallelo).
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CURRENT = new ThreadLocal<>();
+
+        static void start() {
+            CURRENT.set(new ArrayList<>());
+        }
+
+        static List<String> statements() {
+            return CURRENT.get().stream()
+                    .filter(sql -> sql.trim().toLowerCase().matches("^(select|update|delete|with)\\b[\\s\\S]*"))
+                    .toList();
+        }
+
+        static void stop() {
+            CURRENT.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = CURRENT.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.hackhub.service;
+
+import com.hackhub.HackHubApplication;
+import com.hackhub.dto.ImportResult;
+import org.h2.tools.Server;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Import di 100.000 partecipanti con e senza batching JDBC, su un server H2 TCP così che ogni
+ * istruzione sia un vero giro di rete. "Senza" (batch_size=1) riproduce un INSERT per riga come con
+ * gli id IDENTITY; "con" è la configurazione di application.properties (sequenze pooled, batch di 50).
+ * Lento, quindi solo su richiesta: mvn test -Dtest=BulkImportBenchmarkTest -Dbenchmark=true
+ */
+public class BulkImportBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_ROWS = 5_000;
+
+    private Server server;
+
+    @Before
+    public void startDatabase() throws SQLException {
+        assumeTrue("benchmark disattivato (-Dbenchmark=true)", Boolean.getBoolean("benchmark"));
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+    }
+
+    @After
+    public void stopDatabase() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void importThroughputWithAndWithoutBatching() {
+        double before = rowsPerSecond("bench_no_batch", "--spring.jpa.properties.hibernate.jdbc.batch_size=1",
+                "--spring.jpa.properties.hibernate.order_inserts=false",
+                "--spring.jpa.properties.hibernate.order_updates=false");
+        double after = rowsPerSecond("bench_batch");
+
+        System.out.printf("Import di %d righe: senza batching %.0f righe/s, con batching %.0f righe/s (%.1fx)%n",
+                ROWS, before, after, after / before);
+    }
+
+    private double rowsPerSecond(String database, String... extraArgs) {
+        String[] args = new String[extraArgs.length + 2];
+        args[0] = "--spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort()
+                + "/mem:" + database + ";DB_CLOSE_DELAY=-1;MODE=MySQL";
+        args[1] = "--server.port=0";
+        System.arraycopy(extraArgs, 0, args, 2, extraArgs.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HackHubApplication.class).run(args)) {
+            BulkImportService importer = context.getBean(BulkImportService.class);
+            importRows(importer, "warmup", WARMUP_ROWS);
+
+            long start = System.nanoTime();
+            importRows(importer, "bench", ROWS);
+            return ROWS / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private static void importRows(BulkImportService importer, String prefix, int rows) {
+        StringBuilder csv = new StringBuilder("email,username,password,role\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(prefix).append(i).append("@example.com,")
+                    .append(prefix).append(i).append(",password,USER\n");
+        }
+        try {
+            ImportResult result = importer.importParticipants(
+                    new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), false);
+            assertEquals(rows, result.getImportedUsers());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
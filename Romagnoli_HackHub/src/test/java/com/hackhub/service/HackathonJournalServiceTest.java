@@ -0,0 +1,90 @@
+package com.hackhub.service;
+
+import com.hackhub.HackHubApplication;
+import com.hackhub.model.Hackathon;
+import com.hackhub.model.HackathonEvent;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Ogni hackathon ha la riga di testa del journal fin dalla creazione (o dalla V15 se precedente):
+ * scritture concorrenti la incrementano a turno, senza errori di chiave duplicata né buchi di versione.
+ */
+public class HackathonJournalServiceTest {
+
+    private static final int WRITERS = 8;
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeClass
+    public static void start() {
+        context = new SpringApplicationBuilder(HackHubApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:journal_heads_test;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--server.port=0");
+    }
+
+    @AfterClass
+    public static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void everyHackathonHasAJournalHead() {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        assertEquals(0L, (long) jdbc.queryForObject("select count(*) from hackathons h where not exists "
+                + "(select 1 from hackathon_journal_heads j where j.hackathon_id = h.id)", Long.class));
+    }
+
+    @Test
+    public void concurrentEventsOnANewHackathonAllCommit() throws InterruptedException {
+        Hackathon hackathon = context.getBean(HackathonService.class).createHackathon("Journal", "d", "r",
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(3), 4, 1L);
+        HackathonJournalService journal = context.getBean(HackathonJournalService.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        CountDownLatch go = new CountDownLatch(1);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Thread writer = new Thread(() -> {
+                try {
+                    go.await();
+                    transaction.executeWithoutResult(status ->
+                            journal.append(HackathonEvent.mentorAdded(hackathon.getId(), 3L)));
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        go.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        // HACKATHON_CREATED più uno per scrittore, versioni contigue da 1
+        List<Long> versions = context.getBean(JdbcTemplate.class).queryForList(
+                "select version from hackathon_events where hackathon_id = ? order by version", Long.class, hackathon.getId());
+        assertEquals(LongStream.rangeClosed(1, WRITERS + 1).boxed().toList(), versions);
+    }
+}
@@ -0,0 +1,222 @@
+package com.hackhub.service;
+
+import com.hackhub.HackHubApplication;
+import com.hackhub.model.User;
+import com.hackhub.repository.UserRepository;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stream live: un client che non legge più viene disconnesso senza fermare gli altri, e gli eventi
+ * scritti su un nodo arrivano ai client di un altro, anche dopo una riconnessione altrove.
+ */
+public class LiveUpdateServiceTest {
+
+    private static final int EVENTS = 2_000;
+    private static final int BURST = 20;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final List<EventStream> streams = new ArrayList<>();
+
+    @After
+    public void stop() {
+        streams.forEach(EventStream::close);
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    public void slowClientIsDisconnectedWithoutStallingOthers() throws IOException {
+        ConfigurableApplicationContext node = start("live_slow_test",
+                "--app.live.subscriber-queue-capacity=" + BURST * 2);
+        LiveUpdateService live = node.getBean(LiveUpdateService.class);
+        int port = port(node);
+
+        // Client lento: buffer di ricezione minimo e nessuna lettura
+        try (Socket slow = new Socket()) {
+            slow.setReceiveBufferSize(1024);
+            slow.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = slow.getOutputStream();
+            out.write(("GET /api/live?userId=1 HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            EventStream fast = open(port, "userId=1", null);
+            awaitTrue(() -> ((Number) live.getStatistics().get("connections")).intValue() == 2);
+
+            // A raffiche che il client veloce smaltisce: solo la coda del client fermo cresce
+            InboxService inbox = node.getBean(InboxService.class);
+            List<User> recipients = Collections.nCopies(BURST, user(node, 1L));
+            String message = "x".repeat(3_900);
+            for (int sent = BURST; sent <= EVENTS; sent += BURST) {
+                inbox.deliver(message, recipients);
+                int expected = sent;
+                awaitTrue(() -> fast.count("notification") == expected);
+            }
+
+            assertEquals(1L, live.getStatistics().get("slowDisconnects"));
+            assertEquals(1, ((Number) live.getStatistics().get("connections")).intValue());
+        }
+    }
+
+    @Test
+    public void eventsCrossNodesAndResumeOnAnotherNode() {
+        ConfigurableApplicationContext nodeA = start("live_nodes_test");
+        ConfigurableApplicationContext nodeB = start("live_nodes_test");
+        InboxService inboxB = nodeB.getBean(InboxService.class);
+        User user = user(nodeB, 4L);
+
+        // Consegnate dal nodo B, ricevute dal client collegato al nodo A
+        EventStream onA = open(port(nodeA), "userId=4", null);
+        awaitTrue(() -> onA.count("connesso") == 1);
+        for (int i = 1; i <= 3; i++) {
+            inboxB.deliver("notifica " + i, List.of(user));
+        }
+        awaitTrue(() -> onA.count("notification") == 3);
+        onA.close();
+
+        // Perse mentre il client era scollegato, recuperate riconnettendosi al nodo B
+        inboxB.deliver("notifica 4", List.of(user));
+        inboxB.deliver("notifica 5", List.of(user));
+        EventStream onB = open(port(nodeB), "userId=4", onA.lastId());
+        awaitTrue(() -> onB.count("notification") == 2);
+        assertEquals(0, onB.count("reset"));
+        assertTrue(onB.lastData().contains("notifica 5"));
+    }
+
+    private ConfigurableApplicationContext start(String database, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--server.port=0",
+                "--app.live.poll-ms=200",
+                "--app.live.heartbeat-ms=600000"));
+        args.addAll(List.of(extraArgs));
+        ConfigurableApplicationContext node = new SpringApplicationBuilder(HackHubApplication.class)
+                .run(args.toArray(String[]::new));
+        nodes.add(node);
+        return node;
+    }
+
+    private static int port(ConfigurableApplicationContext node) {
+        return ((WebServerApplicationContext) node).getWebServer().getPort();
+    }
+
+    private static User user(ConfigurableApplicationContext node, Long id) {
+        return node.getBean(UserRepository.class).findById(id).orElseThrow();
+    }
+
+    private EventStream open(int port, String query, String lastEventId) {
+        EventStream stream = new EventStream(port, query, lastEventId);
+        streams.add(stream);
+        return stream;
+    }
+
+    /**
+     * Client SSE minimo su un thread: tiene nome, id e dati degli eventi ricevuti
+     * (il commento iniziale conta come evento "connesso").
+     */
+    private static final class EventStream {
+
+        private final List<String[]> events = new ArrayList<>();
+        private final Socket socket = new Socket();
+
+        EventStream(int port, String query, String lastEventId) {
+            Thread reader = new Thread(() -> read(port, query, lastEventId));
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        //HTTP/1.0: risposta senza chunk, chiusa solo dal socket
+        private void read(int port, String query, String lastEventId) {
+            try {
+                socket.connect(new InetSocketAddress("localhost", port));
+                String request = "GET /api/live?" + query + " HTTP/1.0\r\nAccept: text/event-stream\r\n"
+                        + (lastEventId != null ? "Last-Event-ID: " + lastEventId + "\r\n" : "") + "\r\n";
+                socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+                try (BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                    String id = null;
+                    String name = null;
+                    String data = null;
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        if (line.startsWith("id:")) {
+                            id = line.substring(3);
+                        } else if (line.startsWith("event:")) {
+                            name = line.substring(6);
+                        } else if (line.startsWith("data:")) {
+                            data = line.substring(5);
+                        } else if (line.startsWith(":connesso")) {
+                            name = "connesso";
+                        } else if (line.isEmpty() && name != null) {
+                            synchronized (events) {
+                                events.add(new String[]{name, id, data});
+                            }
+                            name = null;
+                            data = null;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Stream chiuso dal test
+            }
+        }
+
+        int count(String name) {
+            synchronized (events) {
+                return (int) events.stream().filter(event -> event[0].equals(name)).count();
+            }
+        }
+
+        String lastId() {
+            synchronized (events) {
+                return events.get(events.size() - 1)[1];
+            }
+        }
+
+        String lastData() {
+            synchronized (events) {
+                return events.get(events.size() - 1)[2];
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Già chiuso
+            }
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue("condizione non raggiunta entro 10 secondi", System.nanoTime() < deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
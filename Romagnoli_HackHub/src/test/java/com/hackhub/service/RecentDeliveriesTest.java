@@ -0,0 +1,27 @@
+package com.hackhub.service;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Solo i duplicati esatti sono scartati: messaggi diversi con stesso hashCode e lunghezza no.
+ */
+public class RecentDeliveriesTest {
+
+    @Test
+    public void collidingMessagesAreDistinct() {
+        // "Aa" e "BB" hanno lo stesso String.hashCode e la stessa lunghezza
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        RecentDeliveries deliveries = new RecentDeliveries(100, 60_000);
+        deliveries.add(1L, "IN_APP", "Aa");
+
+        assertTrue(deliveries.contains(1L, "IN_APP", "Aa"));
+        assertFalse(deliveries.contains(1L, "IN_APP", "BB"));
+        assertFalse(deliveries.contains(2L, "IN_APP", "Aa"));
+        assertFalse(deliveries.contains(1L, "EMAIL", "Aa"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.hackhub.service;
+
+import com.hackhub.HackHubApplication;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.hackhub.service.SchedulerLeaseService.HACKATHON_LIFECYCLE;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Due nodi (due contesti Spring) sullo stesso database H2: un solo proprietario del lease,
+ * fencing del token superato e subentro quando il proprietario si ferma.
+ */
+public class SchedulerLeaseServiceTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:lease_test;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @After
+    public void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    public void oneOwnerFencingAndFailover() {
+        ConfigurableApplicationContext nodeA = startNode("node-a");
+        ConfigurableApplicationContext nodeB = startNode("node-b");
+        SchedulerLeaseService leaseA = nodeA.getBean(SchedulerLeaseService.class);
+        SchedulerLeaseService leaseB = nodeB.getBean(SchedulerLeaseService.class);
+
+        // Un solo nodo possiede il lease
+        awaitTrue(() -> leaseA.heldToken(HACKATHON_LIFECYCLE) != null || leaseB.heldToken(HACKATHON_LIFECYCLE) != null);
+        SchedulerLeaseService owner = leaseA.heldToken(HACKATHON_LIFECYCLE) != null ? leaseA : leaseB;
+        SchedulerLeaseService other = owner == leaseA ? leaseB : leaseA;
+        long firstToken = owner.heldToken(HACKATHON_LIFECYCLE);
+        assertNull(other.heldToken(HACKATHON_LIFECYCLE));
+
+        // Lease scaduto (es. proprietario fermo in una pausa del GC): alla nuova presa il token cresce
+        // e il vecchio non supera più il fencing, qualunque nodo abbia vinto
+        nodeA.getBean(JdbcTemplate.class).update(
+                "update scheduler_leases set expires_at = timestamp '2000-01-01 00:00:00' where name = ?", HACKATHON_LIFECYCLE);
+        awaitTrue(() -> currentToken(leaseA, leaseB) > firstToken);
+        assertThrows(RuntimeException.class, () -> owner.fence(HACKATHON_LIFECYCLE, firstToken));
+
+        // Il proprietario si ferma: rilascia il lease e l'altro nodo subentra senza attendere il TTL
+        ConfigurableApplicationContext ownerNode = leaseA.heldToken(HACKATHON_LIFECYCLE) != null ? nodeA : nodeB;
+        SchedulerLeaseService survivor = ownerNode == nodeA ? leaseB : leaseA;
+        long tokenBeforeStop = currentToken(leaseA, leaseB);
+        ownerNode.close();
+        nodes.remove(ownerNode);
+
+        awaitTrue(() -> survivor.heldToken(HACKATHON_LIFECYCLE) != null);
+        assertTrue(survivor.heldToken(HACKATHON_LIFECYCLE) > tokenBeforeStop);
+        survivor.fence(HACKATHON_LIFECYCLE, survivor.heldToken(HACKATHON_LIFECYCLE));
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId) {
+        // Argomenti da riga di comando: prevalgono su application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HackHubApplication.class).run(
+                "--spring.datasource.url=" + DB_URL,
+                "--server.port=0",
+                // La cache JCache è condivisa nella JVM: ogni nodo deve leggere il database
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--app.scheduler.node-id=" + nodeId,
+                "--app.scheduler.heartbeat-ms=200",
+                "--app.scheduler.lease-ttl-seconds=2");
+        nodes.add(context);
+        return context;
+    }
+
+    private static long currentToken(SchedulerLeaseService a, SchedulerLeaseService b) {
+        Long token = a.heldToken(HACKATHON_LIFECYCLE) != null ? a.heldToken(HACKATHON_LIFECYCLE) : b.heldToken(HACKATHON_LIFECYCLE);
+        return token == null ? -1 : token;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue("condizione non raggiunta entro 10 secondi", System.nanoTime() < deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}